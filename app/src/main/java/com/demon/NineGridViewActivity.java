@@ -27,6 +27,7 @@ import androidx.demon.widget.RefreshLayout;
 import androidx.demon.widget.RefreshMode;
 import androidx.demon.widget.ViewPagerCompat;
 import androidx.demon.widget.adapter.PagerAdapterCompat;
+import androidx.demon.widget.cache.RecycledPool;
 import androidx.recyclerview.widget.RecyclerView;
 
 /**
@@ -56,6 +57,12 @@ public class NineGridViewActivity extends AppCompatActivity {
 			}
 		});
 
+		final RecycledPool<NineGridView.ViewHolder> mRecycledPool = new RecycledPool<>();
+		// itemViewTyp = 0 的最大缓存大小
+		mRecycledPool.setMaxRecycledSize(0, 27);
+		// itemViewTyp = 1 的最大缓存大小
+		mRecycledPool.setMaxRecycledSize(1, 9);
+
 		final RecyclerView.Adapter<RecyclerView.ViewHolder> mAdapter = new RecyclerView.Adapter<RecyclerView.ViewHolder>() {
 
 			@NonNull
@@ -155,16 +162,14 @@ public class NineGridViewActivity extends AppCompatActivity {
 					}
 				});
 
-				// itemViewTyp = 0 的最大缓存大小
-				mNineGridView.getRecycledPool().setMaxRecycledSize(0, 9);
-				// itemViewTyp = 1 的最大缓存大小
-				mNineGridView.getRecycledPool().setMaxRecycledSize(1, 9);
+				// 列表中所有NineGridView共用同一个缓存池
+				mNineGridView.setRecycledPool(mRecycledPool);
 				/**
 				 * 优化项：recycledOldViewHolders = true, 避免每次都需新建ViewHolder
 				 * @see NineGridView#ViewHolder
 				 *
-				 * 同时: 设置ViewHolder的最大缓存大小，默认最大缓存大小是 9.
-				 * @see NineGridView#getRecycledPool()
+				 * 同时: 共用缓存池时在创建处设置ViewHolder的最大缓存大小，默认最大缓存大小是 9.
+				 * @see NineGridView#setRecycledPool(RecycledPool)
 				 * */
 				mNineGridView.setAdapter(new Adapter(position), true);
 			}
@@ -0,0 +1,55 @@
+package androidx.demon.widget;
+
+import android.os.Debug;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Author create by ok on 2026-10-18
+ * Email : ok@163.com.
+ * <p>
+ * The benchmark runner only reports the time, this counts the allocations of a warmed up
+ * operation on the calling thread, everything it calls included.
+ */
+public final class AllocationCounter {
+
+	private static final String TAG = "AllocationCounter";
+
+	private static final int WARM_UP_COUNT = 10;
+	private static final int COUNTED_COUNT = 100;
+
+	private AllocationCounter() {
+	}
+
+	/**
+	 * @return allocations of {@link #COUNTED_COUNT} runs of the operation after a warm up.
+	 */
+	@SuppressWarnings("deprecation")
+	public static int countAllocations(@NonNull Runnable operation) {
+		for (int index = 0; index < WARM_UP_COUNT; index++) {
+			operation.run();
+		}
+		Debug.resetThreadAllocCount();
+		Debug.startAllocCounting();
+		for (int index = 0; index < COUNTED_COUNT; index++) {
+			operation.run();
+		}
+		Debug.stopAllocCounting();
+		return Debug.getThreadAllocCount();
+	}
+
+	public static void assertNoAllocations(@NonNull String name, @NonNull Runnable operation) {
+		assertEquals("allocations in " + COUNTED_COUNT + " runs of " + name, 0, countAllocations(operation));
+	}
+
+	/**
+	 * For a baseline that is expected to allocate, logs the allocations per run instead.
+	 */
+	public static void reportAllocations(@NonNull String name, @NonNull Runnable operation) {
+		final float allocCount = (float) countAllocations(operation) / COUNTED_COUNT;
+		Log.i(TAG, name + ": " + allocCount + " allocations/op");
+	}
+}
@@ -0,0 +1,124 @@
+package androidx.demon.widget;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.annotation.NonNull;
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+/**
+ * Author create by ok on 2026-10-18
+ * Email : ok@163.com.
+ * <p>
+ * A rebind of a nested grid should not allocate anything, see {@link AllocationCounter}.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FixedGridViewBenchmark {
+
+	private static final int ITEM_COUNT = 9;
+	private static final int SPAN_COUNT = 3;
+	private static final int GRID_WIDTH = 1080;
+	private static final int CELL_HEIGHT = 360;
+
+	@Rule
+	public final BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+	private FixedGridView mFixedGridView;
+	private final int mWidthMeasureSpec = View.MeasureSpec.makeMeasureSpec(GRID_WIDTH, View.MeasureSpec.EXACTLY);
+	private final int mHeightMeasureSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+
+	@Before
+	public void setUp() {
+		final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+		this.mFixedGridView = new FixedGridView(context);
+		this.mFixedGridView.setSpanCount(SPAN_COUNT);
+		this.mFixedGridView.setAdapter(new BenchmarkAdapter());
+		this.measureAndLayout();
+	}
+
+	@Test
+	public void rebindLayout() {
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		while (state.keepRunning()) {
+			this.rebindAndLayout();
+		}
+	}
+
+	@Test
+	public void rebindLayout_measureSkip() {
+		this.mFixedGridView.getLayoutManager().setMeasureSkipEnabled(true);
+		this.measureAndLayout();
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		while (state.keepRunning()) {
+			this.rebindAndLayout();
+		}
+	}
+
+	@Test
+	public void rebindLayout_allocations() {
+		this.assertRebindDoesNotAllocate();
+	}
+
+	@Test
+	public void rebindLayout_measureSkip_allocations() {
+		this.mFixedGridView.getLayoutManager().setMeasureSkipEnabled(true);
+		this.measureAndLayout();
+		this.assertRebindDoesNotAllocate();
+	}
+
+	private void assertRebindDoesNotAllocate() {
+		AllocationCounter.assertNoAllocations("rebind and layout", new Runnable() {
+
+			@Override
+			public void run() {
+				rebindAndLayout();
+			}
+		});
+	}
+
+	private void rebindAndLayout() {
+		// a rebind asks every cell for a new layout, like a nested grid inside a feed row
+		for (int index = 0; index < this.mFixedGridView.getChildCount(); index++) {
+			this.mFixedGridView.getChildAt(index).requestLayout();
+		}
+		this.measureAndLayout();
+	}
+
+	private void measureAndLayout() {
+		this.mFixedGridView.measure(this.mWidthMeasureSpec, this.mHeightMeasureSpec);
+		this.mFixedGridView.layout(0, 0, this.mFixedGridView.getMeasuredWidth(),
+				this.mFixedGridView.getMeasuredHeight());
+	}
+
+	static final class BenchmarkAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+		@NonNull
+		@Override
+		public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+			final View itemView = new View(parent.getContext());
+			itemView.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, CELL_HEIGHT));
+			return new RecyclerView.ViewHolder(itemView) {
+			};
+		}
+
+		@Override
+		public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+			// NO-OP
+		}
+
+		@Override
+		public int getItemCount() {
+			return ITEM_COUNT;
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package androidx.demon.widget;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.annotation.NonNull;
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+/**
+ * Author create by ok on 2026-10-18
+ * Email : ok@163.com.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ViewPagerCompatBenchmark {
+
+	private static final int ITEM_COUNT = 100;
+	private static final int PAGE_LIMIT = 5;
+	private static final int PAGER_WIDTH = 1080;
+	private static final int PAGER_HEIGHT = 720;
+
+	@Rule
+	public final BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+	private ViewPagerCompat mViewPagerCompat;
+	private ViewPagerCompat.Page mCurrentPage;
+	private int mCurrentIndex;
+	private int mSink;
+
+	@Before
+	public void setUp() {
+		final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+		this.mViewPagerCompat = new ViewPagerCompat(context);
+		this.mViewPagerCompat.setScrollingLoop(true);
+		this.mViewPagerCompat.setAdapter(new BenchmarkAdapter(ITEM_COUNT));
+		this.mViewPagerCompat.measure(View.MeasureSpec.makeMeasureSpec(PAGER_WIDTH, View.MeasureSpec.EXACTLY),
+				View.MeasureSpec.makeMeasureSpec(PAGER_HEIGHT, View.MeasureSpec.EXACTLY));
+		this.mViewPagerCompat.layout(0, 0, PAGER_WIDTH, PAGER_HEIGHT);
+
+		// Same page pool shape as populate() would build with setOffscreenPageLimit(PAGE_LIMIT)
+		for (int position = -PAGE_LIMIT, index = 0; position <= PAGE_LIMIT; position++, index++) {
+			final ViewPagerCompat.Page page = this.mViewPagerCompat.performOnCreatePage(position, index);
+			if (position == 0) {
+				this.mCurrentPage = page;
+				this.mCurrentIndex = index;
+			}
+		}
+		this.mViewPagerCompat.calculatePageOffsets(this.mCurrentPage, null, this.mCurrentIndex);
+		this.mViewPagerCompat.scrollTo((int) (PAGER_WIDTH * 2.5F), 0);
+	}
+
+	@Test
+	public void adapterPositionForPosition() {
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		int position = -ITEM_COUNT * 10;
+		while (state.keepRunning()) {
+			this.mSink += this.mViewPagerCompat.adapterPositionForPosition(position++);
+		}
+	}
+
+	@Test
+	public void calculatePageOffsets() {
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		while (state.keepRunning()) {
+			this.mViewPagerCompat.calculatePageOffsets(this.mCurrentPage, null, this.mCurrentIndex);
+		}
+	}
+
+	@Test
+	public void getPagerForCurrentScrollPosition() {
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		while (state.keepRunning()) {
+			this.mSink += this.mViewPagerCompat.getPagerForCurrentScrollPosition().position;
+		}
+	}
+
+	@Test
+	public void hotPaths_allocations() {
+		AllocationCounter.assertNoAllocations("adapterPositionForPosition", new Runnable() {
+
+			@Override
+			public void run() {
+				for (int position = -ITEM_COUNT; position < ITEM_COUNT; position++) {
+					mSink += mViewPagerCompat.adapterPositionForPosition(position);
+				}
+			}
+		});
+		AllocationCounter.assertNoAllocations("calculatePageOffsets", new Runnable() {
+
+			@Override
+			public void run() {
+				mViewPagerCompat.calculatePageOffsets(mCurrentPage, null, mCurrentIndex);
+			}
+		});
+		AllocationCounter.assertNoAllocations("getPagerForCurrentScrollPosition", new Runnable() {
+
+			@Override
+			public void run() {
+				mSink += mViewPagerCompat.getPagerForCurrentScrollPosition().position;
+			}
+		});
+	}
+
+	static final class BenchmarkAdapter extends ViewPagerCompat.Adapter {
+
+		private final int mItemCount;
+
+		BenchmarkAdapter(int itemCount) {
+			this.mItemCount = itemCount;
+		}
+
+		@NonNull
+		@Override
+		public Object onCreateItem(@NonNull ViewGroup container, int position, int pagePosition) {
+			return new Object();
+		}
+
+		@Override
+		public void onDestroyItem(@NonNull ViewGroup container, @NonNull Object object, int position) {
+			// NO-OP
+		}
+
+		@Override
+		public boolean isViewFromObject(@NonNull View view, @NonNull Object object) {
+			return false;
+		}
+
+		@Override
+		public int getItemCount() {
+			return this.mItemCount;
+		}
+
+		@Override
+		public float getPageWeight(int position) {
+			// weighted pages exercise the offset arithmetic
+			return position % 2 == 0 ? 1.f : 0.5F;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package androidx.demon.widget.adapter;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.demon.widget.AllocationCounter;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+/**
+ * Author create by ok on 2026-10-18
+ * Email : ok@163.com.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FixedGridLayoutManagerBenchmark {
+
+	private static final int ITEM_COUNT = 1000;
+	private static final int SPAN_COUNT = 4;
+
+	@Rule
+	public final BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+	private final FixedGridLayoutManager.SpanSizeLookup mSpanSizeLookup = new SectionedSpanSizeLookup();
+	private final FixedGridLayoutManager.SpanSizeLookup mCachedSpanSizeLookup = new SectionedSpanSizeLookup();
+
+	private int mSink;
+	private int[] mCachedBorders;
+
+	@Before
+	public void setUp() {
+		this.mCachedSpanSizeLookup.setSpanIndexCacheEnabled(true);
+		this.mCachedSpanSizeLookup.setSpanGroupIndexCacheEnabled(true);
+	}
+
+	@Test
+	public void getSpanGroupIndex_lastItem() {
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		while (state.keepRunning()) {
+			this.mSink += this.mSpanSizeLookup.getSpanGroupIndex(ITEM_COUNT - 1, SPAN_COUNT);
+		}
+	}
+
+	@Test
+	public void getSpanGroupIndex_fullLayout() {
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		while (state.keepRunning()) {
+			// what a layout pass asks for: one lookup per laid out child
+			for (int position = 0; position < ITEM_COUNT; position++) {
+				this.mSink += this.mSpanSizeLookup.getSpanGroupIndex(position, SPAN_COUNT);
+			}
+		}
+	}
+
+	@Test
+	public void getSpanGroupIndex_cached_lastItem() {
+		final FixedGridLayoutManager.SpanSizeLookup spanSizeLookup = this.mCachedSpanSizeLookup;
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		while (state.keepRunning()) {
+			this.mSink += spanSizeLookup.getCachedSpanGroupIndex(ITEM_COUNT - 1, SPAN_COUNT);
+		}
+	}
+
+	@Test
+	public void getSpanGroupIndex_cached_fullLayout() {
+		final FixedGridLayoutManager.SpanSizeLookup spanSizeLookup = this.mCachedSpanSizeLookup;
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		while (state.keepRunning()) {
+			// an adapter change drops the caches, so every pass starts cold like layoutChunk() does
+			spanSizeLookup.invalidateSpanIndexCache();
+			spanSizeLookup.invalidateSpanGroupIndexCache();
+			this.mSink += spanSizeLookup.getCachedSpanGroupIndex(ITEM_COUNT - 1, SPAN_COUNT);
+			for (int position = 0; position < ITEM_COUNT; position++) {
+				this.mSink += spanSizeLookup.getCachedSpanGroupIndex(position, SPAN_COUNT);
+			}
+		}
+	}
+
+	@Test
+	public void calculateItemBorders_sameSpace() {
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		int[] cachedBorders = null;
+		while (state.keepRunning()) {
+			cachedBorders = FixedGridLayoutManager.calculateItemBorders(cachedBorders, SPAN_COUNT, 1080);
+		}
+	}
+
+	@Test
+	public void calculateItemBorders_changedSpace() {
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		int[] cachedBorders = null;
+		int totalSpace = 1080;
+		while (state.keepRunning()) {
+			// guessMeasurement() re-computes with a different content size on every row
+			cachedBorders = FixedGridLayoutManager.calculateItemBorders(cachedBorders, SPAN_COUNT, totalSpace);
+			totalSpace = totalSpace == 1080 ? 1079 : 1080;
+		}
+	}
+
+	@Test
+	public void hotPaths_allocations() {
+		AllocationCounter.assertNoAllocations("getSpanGroupIndex", new Runnable() {
+
+			@Override
+			public void run() {
+				for (int position = 0; position < ITEM_COUNT; position++) {
+					mSink += mSpanSizeLookup.getSpanGroupIndex(position, SPAN_COUNT);
+				}
+			}
+		});
+		AllocationCounter.assertNoAllocations("getCachedSpanGroupIndex", new Runnable() {
+
+			@Override
+			public void run() {
+				// the caches keep their capacity when they are invalidated
+				mCachedSpanSizeLookup.invalidateSpanIndexCache();
+				mCachedSpanSizeLookup.invalidateSpanGroupIndexCache();
+				for (int position = 0; position < ITEM_COUNT; position++) {
+					mSink += mCachedSpanSizeLookup.getCachedSpanGroupIndex(position, SPAN_COUNT);
+				}
+			}
+		});
+		AllocationCounter.assertNoAllocations("calculateItemBorders", new Runnable() {
+
+			@Override
+			public void run() {
+				mCachedBorders = FixedGridLayoutManager.calculateItemBorders(mCachedBorders, SPAN_COUNT, 1080);
+				mCachedBorders = FixedGridLayoutManager.calculateItemBorders(mCachedBorders, SPAN_COUNT, 1079);
+			}
+		});
+	}
+
+	private static final class SectionedSpanSizeLookup extends FixedGridLayoutManager.SpanSizeLookup {
+
+		@Override
+		public int getSpanSize(int position) {
+			// a full width header every 10 items, like a sectioned grid
+			return position % 10 == 0 ? SPAN_COUNT : 1;
+		}
+	}
+}
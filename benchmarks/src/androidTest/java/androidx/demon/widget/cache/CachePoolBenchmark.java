@@ -0,0 +1,139 @@
+package androidx.demon.widget.cache;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.demon.widget.AllocationCounter;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+/**
+ * Author create by ok on 2026-10-18
+ * Email : ok@163.com.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CachePoolBenchmark {
+
+	@Rule
+	public final BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+	private CachePoolImpl<Object, Object> mCachePool;
+	private RingCachePoolImpl<Object, Object> mRingCachePool;
+	private final Object mTarget = new Object();
+
+	@Before
+	public void setUp() {
+		this.mCachePool = new CachePoolImpl<Object, Object>() {
+
+			@Override
+			public Object create(Object target, int position) {
+				return new Object();
+			}
+		};
+		this.mCachePool.prepare(this.mTarget, 0);
+		this.mRingCachePool = new RingCachePoolImpl<Object, Object>() {
+
+			@Override
+			public Object create(Object target, int position) {
+				return new Object();
+			}
+		};
+		this.mRingCachePool.prepare(this.mTarget, 0);
+	}
+
+	@Test
+	public void obtainRecycle() {
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		while (state.keepRunning()) {
+			final Object result = this.mCachePool.obtain(this.mTarget, 0);
+			this.mCachePool.recycle(result);
+		}
+	}
+
+	@Test
+	public void obtainRecycle_drainAndRefill() {
+		final CachePoolImpl<Object, Object> cachePool = this.mCachePool;
+		final int poolSize = cachePool.getPoolSize();
+		final Object[] results = new Object[poolSize];
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		while (state.keepRunning()) {
+			for (int index = 0; index < poolSize; index++) {
+				results[index] = cachePool.obtain(this.mTarget, index);
+			}
+			for (int index = 0; index < poolSize; index++) {
+				cachePool.recycle(results[index]);
+			}
+		}
+	}
+
+	@Test
+	public void obtainRecycle_allocations() {
+		// the linked pool allocates a node per recycle, the baseline of the ring allocations
+		AllocationCounter.reportAllocations("CachePoolImpl obtain/recycle", new Runnable() {
+
+			@Override
+			public void run() {
+				mCachePool.recycle(mCachePool.obtain(mTarget, 0));
+			}
+		});
+	}
+
+	@Test
+	public void ring_obtainRecycle() {
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		while (state.keepRunning()) {
+			final Object result = this.mRingCachePool.obtain(this.mTarget, 0);
+			this.mRingCachePool.recycle(result);
+		}
+	}
+
+	@Test
+	public void ring_obtainRecycle_drainAndRefill() {
+		final RingCachePoolImpl<Object, Object> cachePool = this.mRingCachePool;
+		final int poolSize = cachePool.getPoolSize();
+		final Object[] results = new Object[poolSize];
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		while (state.keepRunning()) {
+			for (int index = 0; index < poolSize; index++) {
+				results[index] = cachePool.obtain(this.mTarget, index);
+			}
+			for (int index = 0; index < poolSize; index++) {
+				cachePool.recycle(results[index]);
+			}
+		}
+	}
+
+	@Test
+	public void ring_obtainRecycle_allocations() {
+		final RingCachePoolImpl<Object, Object> cachePool = this.mRingCachePool;
+		AllocationCounter.assertNoAllocations("ring obtain/recycle", new Runnable() {
+
+			@Override
+			public void run() {
+				cachePool.recycle(cachePool.obtain(mTarget, 0));
+			}
+		});
+	}
+
+	@Test
+	public void ring_obtainRecycle_drainAndRefill_allocations() {
+		final RingCachePoolImpl<Object, Object> cachePool = this.mRingCachePool;
+		final int poolSize = cachePool.getPoolSize();
+		final Object[] results = new Object[poolSize];
+		AllocationCounter.assertNoAllocations("ring drain and refill", new Runnable() {
+
+			@Override
+			public void run() {
+				for (int index = 0; index < poolSize; index++) {
+					results[index] = cachePool.obtain(mTarget, index);
+				}
+				for (int index = 0; index < poolSize; index++) {
+					cachePool.recycle(results[index]);
+				}
+			}
+		});
+	}
+}
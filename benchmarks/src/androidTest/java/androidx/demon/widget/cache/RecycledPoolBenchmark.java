@@ -0,0 +1,79 @@
+package androidx.demon.widget.cache;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.demon.widget.AllocationCounter;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+/**
+ * Author create by ok on 2026-10-18
+ * Email : ok@163.com.
+ */
+@RunWith(AndroidJUnit4.class)
+public class RecycledPoolBenchmark {
+
+	private static final int TYPE_IMAGE = 0;
+	private static final int TYPE_VIDEO = 1;
+
+	@Rule
+	public final BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+	private RecycledPool<Object> mRecycledPool;
+
+	@Before
+	public void setUp() {
+		this.mRecycledPool = new RecycledPool<>(9);
+		for (int index = 0; index < 9; index++) {
+			this.mRecycledPool.putRecycled(TYPE_IMAGE, new Object());
+		}
+	}
+
+	@Test
+	public void getRecycled_putRecycled() {
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		while (state.keepRunning()) {
+			final Object data = this.mRecycledPool.getRecycled(TYPE_IMAGE);
+			this.mRecycledPool.putRecycled(TYPE_IMAGE, data);
+		}
+	}
+
+	@Test
+	public void getRecycled_miss() {
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		Object data = null;
+		while (state.keepRunning()) {
+			data = this.mRecycledPool.getRecycled(TYPE_VIDEO);
+		}
+		if (data != null) {
+			throw new IllegalStateException("pool of type " + TYPE_VIDEO + " must be empty");
+		}
+	}
+
+	@Test
+	public void getRecycled_putRecycled_allocations() {
+		final Object data = new Object();
+		AllocationCounter.assertNoAllocations("RecycledPool", new Runnable() {
+
+			@Override
+			public void run() {
+				mRecycledPool.putRecycled(TYPE_IMAGE, mRecycledPool.getRecycled(TYPE_IMAGE));
+				mRecycledPool.getRecycled(TYPE_VIDEO);
+				mRecycledPool.putRecycled(TYPE_IMAGE, data);
+			}
+		});
+	}
+
+	@Test
+	public void putRecycled_full() {
+		final Object data = new Object();
+		final BenchmarkState state = this.mBenchmarkRule.getState();
+		while (state.keepRunning()) {
+			this.mRecycledPool.putRecycled(TYPE_IMAGE, data);
+		}
+	}
+}
@@ -76,5 +76,7 @@ public class FixedGridView extends RecyclerView {
 
 	public void setAllowUserScrollable(boolean allowUserScrollable) {
 		this.mIsAllowUserScrollable = allowUserScrollable;
+		// a scrollable grid with a fixed height only keeps the visible rows attached
+		this.getLayoutManager().setViewportLayoutEnabled(allowUserScrollable);
 	}
 }
@@ -1,10 +1,19 @@
 package androidx.demon.widget;
 
 import android.content.Context;
+import android.database.DataSetObservable;
+import android.database.DataSetObserver;
 import android.graphics.Rect;
 import android.util.AttributeSet;
+import android.util.SparseArray;
+import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.demon.widget.cache.RecycledPool;
 
 /**
  * Author create by ok on 2019-08-08
@@ -18,11 +27,26 @@ public class FlowLabelView extends ViewGroup {
 
 	private static final int DEFAULT_GRID_GAP = 100;
 
+	private static final int DEFAULT_MAX_RECYCLED = 20;
+
 	private int mWidthMargin = DEFAULT_GRID_GAP;
 	private int mHeightMargin = DEFAULT_GRID_GAP;
 
 	private boolean mInLayout;
 
+	private int[] mLineStarts = new int[8];
+	private int[] mLineHeights = new int[8];
+	private int[] mLineTops = new int[8];
+	private int mLineCount;
+	private int mMaxLineWidth;
+	private int mContentHeight;
+
+	private boolean mLinesValid;
+	private int mContentGeneration;
+	private int mCachedContentGeneration;
+	private int mCachedWidthMeasureSpec;
+	private int mCachedAvailableWidth;
+
 	public FlowLabelView(Context context) {
 		super(context);
 	}
@@ -37,8 +61,6 @@ public class FlowLabelView extends ViewGroup {
 
 	@Override
 	protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-		super.onMeasure(widthMeasureSpec, heightMeasureSpec);
-
 		final int widthSize = MeasureSpec.getSize(widthMeasureSpec);
 		final int heightSize = MeasureSpec.getSize(heightMeasureSpec);
 		final int widthMode = MeasureSpec.getMode(widthMeasureSpec);
@@ -49,62 +71,51 @@ public class FlowLabelView extends ViewGroup {
 		final int paddingRight = this.getPaddingRight();
 		final int paddingBottom = this.getPaddingBottom();
 
-		this.preMeasure(widthMeasureSpec, heightMeasureSpec);
-
-		int widthCum = paddingLeft;
-		int heightCum = paddingTop;
-		int maxRowHeight = 0;
-
-		int rowIndex = 0;
-		int colIndex = 0;
-		boolean feedRow;
-
-		int maxWidth = widthSize;
-		int maxHeight = paddingTop + paddingBottom;
-
-		for (int index = 0; index < this.getChildCount(); index++) {
-			final View preChildView = this.getChildAt(index);
-			if (View.GONE == preChildView.getVisibility()) {
-				continue;
-			}
-			final LayoutParams preLayoutParams = (LayoutParams) preChildView.getLayoutParams();
-			preLayoutParams.rowIndex = rowIndex;
-			preLayoutParams.colIndex = colIndex;
-
-			colIndex++;
-			widthCum += preLayoutParams.preWidth + this.mWidthMargin;
-			maxRowHeight = Math.max(preLayoutParams.preHeight, maxRowHeight);
-
-			if ((feedRow = widthCum + paddingRight > widthSize)) {
-				widthCum = paddingLeft;
-				rowIndex++;
-				colIndex = 0;
-				index--;
-				// 保存行最大高度
-				preLayoutParams.upRowMaxHeight = maxRowHeight;
-			}
-			if (feedRow || index == this.getChildCount() - 1) {
-				maxHeight += maxRowHeight;
-
-				if (feedRow) {
-					maxRowHeight = 0;
-					maxHeight += this.mHeightMargin;
-				}
-			}
+		// the lines only depend on the width, a new height or a state change of a label reuses them
+		final int availableWidth = widthMode == MeasureSpec.UNSPECIFIED
+				? Integer.MAX_VALUE : widthSize - paddingLeft - paddingRight;
+		if (this.mAdapter != null) {
+			this.measureAdapterLines(widthMeasureSpec, heightMeasureSpec, availableWidth);
+		} else if (!this.mLinesValid
+				|| this.mCachedWidthMeasureSpec != widthMeasureSpec
+				|| this.mCachedAvailableWidth != availableWidth
+				|| this.mCachedContentGeneration != this.mContentGeneration
+				|| this.hasLayoutRequestedChild()) {
+			this.measureLines(widthMeasureSpec, heightMeasureSpec, availableWidth);
+			this.mCachedWidthMeasureSpec = widthMeasureSpec;
+			this.mCachedAvailableWidth = availableWidth;
+			this.mCachedContentGeneration = this.mContentGeneration;
+			this.mLinesValid = true;
 		}
+
+		final int maxWidth = widthMode == MeasureSpec.UNSPECIFIED
+				? paddingLeft + this.mMaxLineWidth + paddingRight : widthSize;
+		final int maxHeight = paddingTop + this.mContentHeight + paddingBottom;
 		this.setMeasuredDimension(
 				widthMode == MeasureSpec.EXACTLY ? widthSize : maxWidth,
 				heightMode == MeasureSpec.EXACTLY ? heightSize : maxHeight
 		);
 	}
 
-	private void preMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+	/**
+	 * Measures every label once and breaks the lines in the same pass, a label that does not fit
+	 * into the remaining width starts the next line unless the line is still empty.
+	 */
+	private void measureLines(int widthMeasureSpec, int heightMeasureSpec, int availableWidth) {
 		final int paddingLeft = this.getPaddingLeft();
 		final int paddingTop = this.getPaddingTop();
 		final int paddingRight = this.getPaddingRight();
 		final int paddingBottom = this.getPaddingBottom();
+		final int childCount = this.getChildCount();
+		this.ensureLineCapacity(childCount + 1);
 
-		for (int index = 0; index < this.getChildCount(); index++) {
+		int lineCount = 0;
+		int lineWidth = 0;
+		int lineHeight = 0;
+		int maxLineWidth = 0;
+		int contentHeight = 0;
+
+		for (int index = 0; index < childCount; index++) {
 			final View preChildView = this.getChildAt(index);
 			if (View.GONE == preChildView.getVisibility()) {
 				continue;
@@ -117,38 +128,486 @@ public class FlowLabelView extends ViewGroup {
 			preChildView.measure(childWidthMeasureSpec, childHeightMeasureSpec);
 			preLayoutParams.preWidth = preChildView.getMeasuredWidth() + preLayoutParams.leftMargin + preLayoutParams.rightMargin;
 			preLayoutParams.preHeight = preChildView.getMeasuredHeight() + preLayoutParams.topMargin + preLayoutParams.bottomMargin;
+
+			final boolean feedLine = lineCount > 0 && lineWidth > 0
+					&& lineWidth + preLayoutParams.preWidth + this.mWidthMargin > availableWidth;
+			if (lineCount == 0 || feedLine) {
+				if (lineCount > 0) {
+					// 保存行最大高度
+					this.mLineHeights[lineCount - 1] = lineHeight;
+					contentHeight += lineHeight + this.mHeightMargin;
+					maxLineWidth = Math.max(lineWidth - this.mWidthMargin, maxLineWidth);
+				}
+				this.mLineStarts[lineCount++] = index;
+				lineWidth = 0;
+				lineHeight = 0;
+			}
+			preLayoutParams.lineLeft = lineWidth;
+			lineWidth += preLayoutParams.preWidth + this.mWidthMargin;
+			lineHeight = Math.max(preLayoutParams.preHeight, lineHeight);
+		}
+		if (lineCount > 0) {
+			this.mLineHeights[lineCount - 1] = lineHeight;
+			contentHeight += lineHeight;
+			maxLineWidth = Math.max(lineWidth - this.mWidthMargin, maxLineWidth);
+		}
+		this.mLineStarts[lineCount] = childCount;
+		this.mLineCount = lineCount;
+		this.mMaxLineWidth = maxLineWidth;
+		this.mContentHeight = contentHeight;
+	}
+
+	private boolean hasLayoutRequestedChild() {
+		for (int index = 0; index < this.getChildCount(); index++) {
+			if (this.getChildAt(index).isLayoutRequested()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void ensureLineCapacity(int capacity) {
+		if (this.mLineStarts.length < capacity) {
+			final int newCapacity = Math.max(capacity, this.mLineStarts.length * 2);
+			this.mLineStarts = new int[newCapacity];
+			this.mLineHeights = new int[newCapacity];
+			this.mLineTops = new int[newCapacity];
 		}
 	}
 
 	@Override
-	protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
-		final int widthSize = right - left;
-		final int heightSize = bottom - top;
+	public void onViewAdded(View child) {
+		super.onViewAdded(child);
+		this.mContentGeneration++;
+	}
 
+	@Override
+	public void onViewRemoved(View child) {
+		super.onViewRemoved(child);
+		this.mContentGeneration++;
+	}
+
+	@Override
+	protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+		if (this.mAdapter != null) {
+			this.mInLayout = true;
+			this.materializeLines();
+			this.mInLayout = false;
+			return;
+		}
 		final int paddingLeft = this.getPaddingLeft();
 		final int paddingTop = this.getPaddingTop();
-		final int paddingRight = this.getPaddingRight();
-		final int paddingBottom = this.getPaddingBottom();
 
-		int widthCum = paddingLeft;
 		int heightCum = paddingTop;
+		for (int lineIndex = 0; lineIndex < this.mLineCount; lineIndex++) {
+			final int lineEnd = Math.min(this.mLineStarts[lineIndex + 1], this.getChildCount());
+			for (int index = this.mLineStarts[lineIndex]; index < lineEnd; index++) {
+				final View preChildView = this.getChildAt(index);
+				if (View.GONE == preChildView.getVisibility()) {
+					continue;
+				}
+				final LayoutParams preLayoutParams = (LayoutParams) preChildView.getLayoutParams();
+				final int preChildLeft = paddingLeft + preLayoutParams.lineLeft + preLayoutParams.leftMargin;
+				final int preChildTop = heightCum + preLayoutParams.topMargin;
+				preChildView.layout(preChildLeft, preChildTop, preChildLeft + preChildView.getMeasuredWidth(), preChildTop + preChildView.getMeasuredHeight());
+			}
+			heightCum += this.mLineHeights[lineIndex] + this.mHeightMargin;
+		}
+	}
 
-		for (int index = 0; index < this.getChildCount(); index++) {
-			final View preChildView = this.getChildAt(index);
-			if (View.GONE == preChildView.getVisibility()) {
-				continue;
+	private Adapter mAdapter;
+	private final DataSetObserver mAdapterObserver = new DataSetObserver() {
+
+		@Override
+		public void onChanged() {
+			adapterDataSetChanged();
+		}
+
+		@Override
+		public void onInvalidated() {
+			adapterDataSetChanged();
+		}
+	};
+	private final ViewTreeObserver.OnScrollChangedListener mOnScrollChangedListener = new ViewTreeObserver.OnScrollChangedListener() {
+
+		@Override
+		public void onScrollChanged() {
+			if (mAdapter == null || isLayoutRequested()) {
+				return;
 			}
-			final LayoutParams preLayoutParams = (LayoutParams) preChildView.getLayoutParams();
-			if (preLayoutParams.rowIndex > 0 && preLayoutParams.colIndex == 0) {
-				widthCum = paddingLeft;
-				heightCum += preLayoutParams.upRowMaxHeight + this.mHeightMargin;
+			// a scrolling parent moved the visible window, no new measure is needed
+			mInLayout = true;
+			materializeLines();
+			mInLayout = false;
+		}
+	};
+
+	private RecycledPool<ViewHolder> mRecycledPool = new RecycledPool<>(DEFAULT_MAX_RECYCLED);
+	private final SparseArray<ViewHolder> mAttachedViewHolders = new SparseArray<>();
+	private ViewHolder mOverflowViewHolder;
+	private final Rect mVisibleRect = new Rect();
+
+	private int mMaxLines = Integer.MAX_VALUE;
+	private int mVisibleItemCount;
+	private int mOverflowLeft;
+
+	private int[] mItemWidths = new int[0];
+	private int[] mItemHeights = new int[0];
+	private int[] mItemLefts = new int[0];
+	private boolean mItemSizesValid;
+	private int mMeasuredItemCount;
+	private int mCachedItemWidthMeasureSpec;
+	private int mCachedItemHeightMeasureSpec;
+
+	/**
+	 * Backs the labels by an adapter instead of children added directly. Only the lines inside
+	 * the visible window of a scrolling parent get views, recycled through
+	 * {@link #getRecycledPool()} by item view type.
+	 */
+	public <VH extends ViewHolder> void setAdapter(@Nullable Adapter<VH> adapter) {
+		if (this.mAdapter == adapter) {
+			return;
+		}
+		if (this.mAdapter != null) {
+			this.mAdapter.unregisterDataSetObserver(this.mAdapterObserver);
+			this.recycledAllViewHolders();
+			if (this.mOverflowViewHolder != null) {
+				this.removeViewInLayout(this.mOverflowViewHolder.itemView);
+				this.mOverflowViewHolder = null;
+			}
+			this.mRecycledPool.clear();
+		}
+		this.mAdapter = adapter;
+		if (this.mAdapter != null) {
+			// the adapter owns every label from now on
+			this.removeAllViews();
+			this.mAdapter.registerDataSetObserver(this.mAdapterObserver);
+		}
+		this.mItemSizesValid = false;
+		this.mLinesValid = false;
+		this.requestLayout();
+	}
+
+	@Nullable
+	public Adapter getAdapter() {
+		return this.mAdapter;
+	}
+
+	/**
+	 * Limits an adapter backed view to {@code maxLines} lines, the labels that do not fit are
+	 * summarized by the chip of {@link Adapter#onCreateOverflowViewHolder(LayoutInflater, ViewGroup)}.
+	 */
+	public void setMaxLines(int maxLines) {
+		if (maxLines <= 0) {
+			throw new IllegalArgumentException("maxLines must be > 0, but was " + maxLines);
+		}
+		if (this.mMaxLines != maxLines) {
+			this.mMaxLines = maxLines;
+			this.requestLayout();
+		}
+	}
+
+	public int getMaxLines() {
+		return this.mMaxLines;
+	}
+
+	@NonNull
+	public RecycledPool<ViewHolder> getRecycledPool() {
+		return this.mRecycledPool;
+	}
+
+	@Override
+	protected void onAttachedToWindow() {
+		super.onAttachedToWindow();
+		this.getViewTreeObserver().addOnScrollChangedListener(this.mOnScrollChangedListener);
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+		this.getViewTreeObserver().removeOnScrollChangedListener(this.mOnScrollChangedListener);
+		super.onDetachedFromWindow();
+	}
+
+	private void adapterDataSetChanged() {
+		// positions may have moved, the labels on screen are bound again after the next layout
+		this.recycledAllViewHolders();
+		this.mItemSizesValid = false;
+		this.requestLayout();
+	}
+
+	/**
+	 * Item sizes are cached per data set and width, and only measured as far as the line breaking
+	 * gets: with {@link #setMaxLines(int)} the items past the last line are never bound.
+	 */
+	private void measureAdapterLines(int widthMeasureSpec, int heightMeasureSpec, int availableWidth) {
+		final int itemCount = this.mAdapter.getItemCount();
+		if (!this.mItemSizesValid
+				|| this.mCachedItemWidthMeasureSpec != widthMeasureSpec
+				|| this.mCachedAvailableWidth != availableWidth) {
+			this.mMeasuredItemCount = 0;
+			this.mItemSizesValid = true;
+			this.mCachedItemWidthMeasureSpec = widthMeasureSpec;
+			this.mCachedAvailableWidth = availableWidth;
+		}
+		this.ensureItemCapacity(itemCount);
+		this.mCachedItemHeightMeasureSpec = heightMeasureSpec;
+		this.breakAdapterLines(itemCount, availableWidth, widthMeasureSpec, heightMeasureSpec);
+	}
+
+	private void measureItem(int position, int widthMeasureSpec, int heightMeasureSpec) {
+		// binds a scrap holder just to learn its size, no view is attached
+		final int itemViewType = this.mAdapter.getItemViewType(position);
+		final ViewHolder holder = this.obtainViewHolder(itemViewType);
+		holder.position = position;
+		this.mAdapter.onBindViewHolder(holder, position);
+		this.measureLabel(holder.itemView, widthMeasureSpec, heightMeasureSpec);
+		final LayoutParams preLayoutParams = (LayoutParams) holder.itemView.getLayoutParams();
+		this.mItemWidths[position] = preLayoutParams.preWidth;
+		this.mItemHeights[position] = preLayoutParams.preHeight;
+		holder.position = ViewHolder.NO_POSITION;
+		this.mRecycledPool.putRecycled(itemViewType, holder);
+	}
+
+	private void breakAdapterLines(int itemCount, int availableWidth, int widthMeasureSpec, int heightMeasureSpec) {
+		this.ensureLineCapacity(itemCount + 1);
+
+		int lineCount = 0;
+		int lineWidth = 0;
+		int lineHeight = 0;
+		int visibleItemCount = itemCount;
+		for (int position = 0; position < itemCount; position++) {
+			if (position == this.mMeasuredItemCount) {
+				this.measureItem(position, widthMeasureSpec, heightMeasureSpec);
+				this.mMeasuredItemCount++;
+			}
+			final int itemWidth = this.mItemWidths[position];
+			final boolean feedLine = lineCount > 0 && lineWidth > 0
+					&& lineWidth + itemWidth + this.mWidthMargin > availableWidth;
+			if (lineCount == 0 || feedLine) {
+				if (lineCount == this.mMaxLines) {
+					visibleItemCount = position;
+					break;
+				}
+				if (lineCount > 0) {
+					this.mLineHeights[lineCount - 1] = lineHeight;
+				}
+				this.mLineStarts[lineCount++] = position;
+				lineWidth = 0;
+				lineHeight = 0;
+			}
+			this.mItemLefts[position] = lineWidth;
+			lineWidth += itemWidth + this.mWidthMargin;
+			lineHeight = Math.max(this.mItemHeights[position], lineHeight);
+		}
+		if (lineCount > 0) {
+			this.mLineHeights[lineCount - 1] = lineHeight;
+		}
+		this.mVisibleItemCount = visibleItemCount;
+		if (visibleItemCount < itemCount) {
+			this.fitOverflowLabel(lineCount, itemCount, availableWidth, widthMeasureSpec, heightMeasureSpec);
+		}
+		this.mLineStarts[lineCount] = this.mVisibleItemCount;
+		this.mLineCount = lineCount;
+
+		int contentHeight = 0;
+		int maxLineWidth = 0;
+		for (int lineIndex = 0; lineIndex < lineCount; lineIndex++) {
+			this.mLineTops[lineIndex] = contentHeight;
+			contentHeight += this.mLineHeights[lineIndex] + (lineIndex < lineCount - 1 ? this.mHeightMargin : 0);
+			final int lastPosition = this.mLineStarts[lineIndex + 1] - 1;
+			if (lastPosition >= this.mLineStarts[lineIndex]) {
+				maxLineWidth = Math.max(this.mItemLefts[lastPosition] + this.mItemWidths[lastPosition], maxLineWidth);
+			}
+		}
+		this.mContentHeight = contentHeight;
+		this.mMaxLineWidth = maxLineWidth;
+	}
+
+	/**
+	 * Makes room for the overflow chip at the end of the last line by moving the last labels of
+	 * that line into the overflow count.
+	 */
+	private void fitOverflowLabel(int lineCount, int itemCount, int availableWidth, int widthMeasureSpec, int heightMeasureSpec) {
+		if (this.mOverflowViewHolder == null) {
+			this.mOverflowViewHolder = this.mAdapter.onCreateOverflowViewHolder(LayoutInflater.from(this.getContext()), this);
+			if (this.mOverflowViewHolder == null) {
+				return;
+			}
+		}
+		final ViewHolder overflowHolder = this.mOverflowViewHolder;
+		final LayoutParams overflowLayoutParams = this.checkLabelLayoutParams(overflowHolder.itemView);
+		final int lastLineStart = this.mLineStarts[lineCount - 1];
+
+		int visibleItemCount = this.mVisibleItemCount;
+		this.mAdapter.onBindOverflowViewHolder(overflowHolder, itemCount - visibleItemCount);
+		this.measureLabel(overflowHolder.itemView, widthMeasureSpec, heightMeasureSpec);
+		while (visibleItemCount > lastLineStart + 1
+				&& this.getLineWidth(visibleItemCount) + overflowLayoutParams.preWidth > availableWidth) {
+			visibleItemCount--;
+		}
+		if (visibleItemCount != this.mVisibleItemCount) {
+			// the count of the chip changed, so may its width
+			this.mAdapter.onBindOverflowViewHolder(overflowHolder, itemCount - visibleItemCount);
+			this.measureLabel(overflowHolder.itemView, widthMeasureSpec, heightMeasureSpec);
+		}
+		this.mVisibleItemCount = visibleItemCount;
+		this.mOverflowLeft = this.getLineWidth(visibleItemCount);
+
+		int lineHeight = overflowLayoutParams.preHeight;
+		for (int position = lastLineStart; position < visibleItemCount; position++) {
+			lineHeight = Math.max(this.mItemHeights[position], lineHeight);
+		}
+		this.mLineHeights[lineCount - 1] = lineHeight;
+	}
+
+	private int getLineWidth(int endPosition) {
+		final int lastPosition = endPosition - 1;
+		return this.mItemLefts[lastPosition] + this.mItemWidths[lastPosition] + this.mWidthMargin;
+	}
+
+	/**
+	 * Attaches, binds and lays out the labels of the lines inside the visible window and recycles
+	 * every other one.
+	 */
+	private void materializeLines() {
+		int windowTop = 0;
+		int windowBottom = this.getHeight();
+		if (this.isAttachedToWindow() && !this.getLocalVisibleRect(this.mVisibleRect)) {
+			windowBottom = -1;
+		} else if (this.isAttachedToWindow()) {
+			windowTop = this.mVisibleRect.top;
+			windowBottom = this.mVisibleRect.bottom;
+		}
+		final int paddingLeft = this.getPaddingLeft();
+		final int paddingTop = this.getPaddingTop();
+
+		int firstLine = this.mLineCount;
+		int lastLine = -1;
+		for (int lineIndex = 0; lineIndex < this.mLineCount; lineIndex++) {
+			final int lineTop = paddingTop + this.mLineTops[lineIndex];
+			if (lineTop + this.mLineHeights[lineIndex] > windowTop && lineTop < windowBottom) {
+				firstLine = Math.min(firstLine, lineIndex);
+				lastLine = lineIndex;
+			}
+		}
+		final int firstPosition = lastLine >= firstLine ? this.mLineStarts[firstLine] : 0;
+		final int endPosition = lastLine >= firstLine ? this.mLineStarts[lastLine + 1] : 0;
+		for (int index = this.mAttachedViewHolders.size() - 1; index >= 0; index--) {
+			final int position = this.mAttachedViewHolders.keyAt(index);
+			if (position < firstPosition || position >= endPosition) {
+				this.recycledViewHolder(this.mAttachedViewHolders.valueAt(index));
+			}
+		}
+
+		for (int lineIndex = firstLine; lineIndex <= lastLine; lineIndex++) {
+			final int lineTop = paddingTop + this.mLineTops[lineIndex];
+			for (int position = this.mLineStarts[lineIndex]; position < this.mLineStarts[lineIndex + 1]; position++) {
+				ViewHolder holder = this.mAttachedViewHolders.get(position);
+				boolean bound = false;
+				if (holder == null) {
+					final int itemViewType = this.mAdapter.getItemViewType(position);
+					holder = this.obtainViewHolder(itemViewType);
+					holder.position = position;
+					this.mAdapter.onBindViewHolder(holder, position);
+					this.addViewInLayout(holder.itemView, -1, holder.itemView.getLayoutParams(), true);
+					this.mAttachedViewHolders.put(position, holder);
+					bound = true;
+				}
+				this.layoutLabel(holder.itemView, paddingLeft + this.mItemLefts[position], lineTop, bound);
 			}
+		}
 
-			int preChildLeft = widthCum + preLayoutParams.leftMargin;
-			int preChildTop = heightCum + preLayoutParams.topMargin;
-			widthCum += preLayoutParams.preWidth + this.mWidthMargin;
+		final ViewHolder overflowHolder = this.mOverflowViewHolder;
+		if (overflowHolder != null) {
+			final int overflowLine = this.mLineCount - 1;
+			final boolean showOverflow = this.mVisibleItemCount < this.mAdapter.getItemCount()
+					&& overflowLine >= firstLine && overflowLine <= lastLine;
+			if (showOverflow) {
+				if (overflowHolder.itemView.getParent() == null) {
+					this.addViewInLayout(overflowHolder.itemView, -1, overflowHolder.itemView.getLayoutParams(), true);
+				}
+				// measured for its count by fitOverflowLabel
+				this.layoutLabel(overflowHolder.itemView, paddingLeft + this.mOverflowLeft,
+						paddingTop + this.mLineTops[overflowLine], false);
+			} else if (overflowHolder.itemView.getParent() != null) {
+				this.removeViewInLayout(overflowHolder.itemView);
+			}
+		}
+		this.invalidate();
+	}
 
-			preChildView.layout(preChildLeft, preChildTop, preChildLeft + preChildView.getMeasuredWidth(), preChildTop + preChildView.getMeasuredHeight());
+	/**
+	 * A label that stayed attached keeps the size it was measured with for the cached lines,
+	 * only a newly bound one or one that asked for a layout itself is measured again.
+	 */
+	private void layoutLabel(@NonNull View child, int left, int top, boolean bound) {
+		if (bound || child.isLayoutRequested()) {
+			this.measureLabel(child, this.mCachedItemWidthMeasureSpec, this.mCachedItemHeightMeasureSpec);
+		}
+		final LayoutParams preLayoutParams = (LayoutParams) child.getLayoutParams();
+		final int preChildLeft = left + preLayoutParams.leftMargin;
+		final int preChildTop = top + preLayoutParams.topMargin;
+		child.layout(preChildLeft, preChildTop, preChildLeft + child.getMeasuredWidth(), preChildTop + child.getMeasuredHeight());
+	}
+
+	private void measureLabel(@NonNull View child, int widthMeasureSpec, int heightMeasureSpec) {
+		final LayoutParams preLayoutParams = this.checkLabelLayoutParams(child);
+		final int childWidthMeasureSpec = ViewGroup.getChildMeasureSpec(widthMeasureSpec, this.getPaddingLeft() + this.getPaddingRight() + preLayoutParams.leftMargin + preLayoutParams.rightMargin,
+				preLayoutParams.width);
+		final int childHeightMeasureSpec = ViewGroup.getChildMeasureSpec(heightMeasureSpec, this.getPaddingTop() + this.getPaddingBottom() + preLayoutParams.topMargin + preLayoutParams.bottomMargin,
+				preLayoutParams.height);
+		child.measure(childWidthMeasureSpec, childHeightMeasureSpec);
+		preLayoutParams.preWidth = child.getMeasuredWidth() + preLayoutParams.leftMargin + preLayoutParams.rightMargin;
+		preLayoutParams.preHeight = child.getMeasuredHeight() + preLayoutParams.topMargin + preLayoutParams.bottomMargin;
+	}
+
+	@NonNull
+	private LayoutParams checkLabelLayoutParams(@NonNull View child) {
+		final ViewGroup.LayoutParams layoutParams = child.getLayoutParams();
+		if (layoutParams instanceof LayoutParams) {
+			return (LayoutParams) layoutParams;
+		}
+		final LayoutParams preLayoutParams = layoutParams == null
+				? this.generateDefaultLayoutParams() : this.generateLayoutParams(layoutParams);
+		child.setLayoutParams(preLayoutParams);
+		return preLayoutParams;
+	}
+
+	@NonNull
+	private ViewHolder obtainViewHolder(int itemViewType) {
+		ViewHolder holder = this.mRecycledPool.getRecycled(itemViewType);
+		if (holder == null) {
+			holder = this.mAdapter.onCreateViewHolder(LayoutInflater.from(this.getContext()), this, itemViewType);
+			if (holder.itemView.getParent() != null) {
+				throw new IllegalStateException("ViewHolder views must not be attached when"
+						+ " created. Ensure that you are not passing 'true' to the attachToRoot"
+						+ " parameter of LayoutInflater.inflate(..., boolean attachToRoot)");
+			}
+		}
+		holder.itemViewType = itemViewType;
+		this.checkLabelLayoutParams(holder.itemView);
+		return holder;
+	}
+
+	private void recycledViewHolder(@NonNull ViewHolder holder) {
+		this.mAttachedViewHolders.remove(holder.position);
+		this.removeViewInLayout(holder.itemView);
+		holder.position = ViewHolder.NO_POSITION;
+		this.mRecycledPool.putRecycled(holder.itemViewType, holder);
+	}
+
+	private void recycledAllViewHolders() {
+		for (int index = this.mAttachedViewHolders.size() - 1; index >= 0; index--) {
+			this.recycledViewHolder(this.mAttachedViewHolders.valueAt(index));
+		}
+	}
+
+	private void ensureItemCapacity(int capacity) {
+		if (this.mItemWidths.length < capacity) {
+			this.mItemWidths = new int[capacity];
+			this.mItemHeights = new int[capacity];
+			this.mItemLefts = new int[capacity];
+			this.mMeasuredItemCount = 0;
 		}
 	}
 
@@ -183,14 +642,11 @@ public class FlowLabelView extends ViewGroup {
 
 		private Rect boundRect;
 
-		private int rowIndex = -1;
-		private int colIndex = -1;
+		private int lineLeft;
 
 		private int preWidth;
 		private int preHeight;
 
-		private int upRowMaxHeight;
-
 		public LayoutParams(int width, int height) {
 			super(width, height);
 		}
@@ -207,4 +663,74 @@ public class FlowLabelView extends ViewGroup {
 			super(context, attrs);
 		}
 	}
+
+	public static abstract class Adapter<VH extends ViewHolder> {
+
+		private final DataSetObservable mObservable = new DataSetObservable();
+
+		public final void registerDataSetObserver(@NonNull DataSetObserver observer) {
+			this.mObservable.registerObserver(observer);
+		}
+
+		public final void unregisterDataSetObserver(@NonNull DataSetObserver observer) {
+			this.mObservable.unregisterObserver(observer);
+		}
+
+		public final void notifyDataSetChanged() {
+			this.mObservable.notifyChanged();
+		}
+
+		@NonNull
+		public abstract VH onCreateViewHolder(@NonNull LayoutInflater inflater, @NonNull ViewGroup container, int itemViewType);
+
+		public abstract void onBindViewHolder(@NonNull VH holder, int position);
+
+		public abstract int getItemCount();
+
+		public int getItemViewType(int position) {
+			return 0;
+		}
+
+		/**
+		 * @return the "+N more" chip shown at the end of the last line when
+		 * {@link FlowLabelView#setMaxLines(int)} hides labels, or null for none.
+		 */
+		@Nullable
+		public VH onCreateOverflowViewHolder(@NonNull LayoutInflater inflater, @NonNull ViewGroup container) {
+			return null;
+		}
+
+		public void onBindOverflowViewHolder(@NonNull VH holder, int overflowCount) {
+			// NO-OP
+		}
+	}
+
+	public static abstract class ViewHolder {
+
+		private static final int NO_POSITION = -1;
+		private static final int INVALID_TYPE = -1;
+
+		@NonNull
+		private final View itemView;
+
+		private int position = NO_POSITION;
+		private int itemViewType = INVALID_TYPE;
+
+		public ViewHolder(@NonNull View itemView) {
+			this.itemView = itemView;
+		}
+
+		@NonNull
+		public final View getItemView() {
+			return this.itemView;
+		}
+
+		public final int getPosition() {
+			return this.position;
+		}
+
+		public final int getItemViewType() {
+			return this.itemViewType;
+		}
+	}
 }
@@ -3,6 +3,7 @@ package androidx.demon.widget;
 import android.content.Context;
 import android.database.DataSetObservable;
 import android.database.DataSetObserver;
+import android.graphics.Rect;
 import android.util.AttributeSet;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -43,65 +44,41 @@ public class NineGridView extends ViewGroup {
 
 	@Override
 	protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-		super.onMeasure(widthMeasureSpec, heightMeasureSpec);
-
 		final int widthSize = MeasureSpec.getSize(widthMeasureSpec);
-		final int heightSize = MeasureSpec.getSize(heightMeasureSpec);
-
-		final int paddingLeft = this.getPaddingLeft();
 		final int paddingTop = this.getPaddingTop();
-		final int paddingRight = this.getPaddingRight();
 		final int paddingBottom = this.getPaddingBottom();
+		final int width = widthSize - this.getPaddingLeft() - this.getPaddingRight();
 
-		final int width = widthSize - paddingLeft - paddingRight;
-		final int height = heightSize - paddingTop - paddingBottom;
-
+		final Rect[] cellRects = this.obtainCellRects(width);
 		final int childCount = this.getChildCount();
-		final int[] ranks = this.calculateRowAndCol();
-		final int[] itemViewSize = this.getItemViewSize(width, height);
-
-		int realClientHeight = paddingTop;
 		for (int index = 0; index < childCount; index++) {
 			final View preChildView = this.getChildAt(index);
 			if (preChildView.getVisibility() == View.GONE) {
 				continue;
 			}
-			preChildView.measure(MeasureSpec.makeMeasureSpec(itemViewSize[0], MeasureSpec.EXACTLY),
-					MeasureSpec.makeMeasureSpec(itemViewSize[1], MeasureSpec.EXACTLY));
-
-			if (index == 0 || (index % ranks[1] + 1 >= ranks[1] && index < childCount - 1)) {
-				realClientHeight += preChildView.getMeasuredHeight() + this.mGridGap;
-			}
+			final Rect cellRect = cellRects[index];
+			preChildView.measure(MeasureSpec.makeMeasureSpec(cellRect.width(), MeasureSpec.EXACTLY),
+					MeasureSpec.makeMeasureSpec(cellRect.height(), MeasureSpec.EXACTLY));
 		}
-		realClientHeight += paddingBottom;
-		this.setMeasuredDimension(widthSize, realClientHeight);
+		this.setMeasuredDimension(widthSize, paddingTop + this.mCachedContentHeight + paddingBottom);
 	}
 
 	@Override
 	protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
 		final int paddingLeft = this.getPaddingLeft();
 		final int paddingTop = this.getPaddingTop();
-		final int[] ranks = this.calculateRowAndCol();
-
-		int preTop = paddingTop;
-		int preLeft = paddingLeft;
+		final Rect[] cellRects = this.obtainCellRects(right - left - paddingLeft - this.getPaddingRight());
 
 		for (int index = 0; index < this.getChildCount(); index++) {
 			final View preChildView = this.getChildAt(index);
 			if (preChildView.getVisibility() == View.GONE) {
 				continue;
 			}
-			final int childWidth = preChildView.getMeasuredWidth();
-			final int childHeight = preChildView.getMeasuredHeight();
-			preChildView.layout(preLeft, preTop, preLeft + childWidth, preTop + childHeight);
-
-			if (index % ranks[1] + 1 >= ranks[1]) {
-				preTop += childHeight + this.mGridGap;
-				preLeft = paddingLeft;
-			} else {
-				preLeft += childWidth + this.mGridGap;
-			}
+			final Rect cellRect = cellRects[index];
+			preChildView.layout(paddingLeft + cellRect.left, paddingTop + cellRect.top,
+					paddingLeft + cellRect.right, paddingTop + cellRect.bottom);
 		}
+		this.dispatchCellSizeReady(cellRects);
 	}
 
 	@Override
@@ -109,32 +86,72 @@ public class NineGridView extends ViewGroup {
 		throw new IllegalStateException("prohibit registration of new Views");
 	}
 
+	private static final int MAX_ITEM_COUNT = 9;
+
+	private final Rect[] mCellRects = new Rect[MAX_ITEM_COUNT];
+	private final int[] mSingleItemViewSize = new int[2];
+	private LayoutPolicy mLayoutPolicy = new GridLayoutPolicy(3);
+	private boolean mCellRectsValid;
+	private int mCachedWidth;
+	private int mCachedItemCount;
+	private int mCachedGridGap;
+	private int mCachedContentHeight;
+
+	/**
+	 * @return the cell of every child relative to the content area, computed by the
+	 * {@link LayoutPolicy} only when the width, the child count or the gap changed.
+	 */
 	@NonNull
-	private int[] getItemViewSize(int width, int height) {
-		final int[] itemViewSize = new int[2];
-		final int[] ranks = this.calculateRowAndCol();
-		final int realWidth = width - (ranks[1] - 1) * this.mGridGap;
-		final int size = realWidth / ranks[1];
-		itemViewSize[0] = size;
-		itemViewSize[1] = size;
-		if (this.mAdapter != null && this.mAdapter.getItemCount() == 1) {
-			this.mAdapter.getSingleItemViewSize(this, itemViewSize);
+	private Rect[] obtainCellRects(int width) {
+		final int itemCount = this.getChildCount();
+		if (this.mCellRectsValid
+				&& this.mCachedWidth == width
+				&& this.mCachedItemCount == itemCount
+				&& this.mCachedGridGap == this.mGridGap) {
+			return this.mCellRects;
+		}
+		final Rect[] cellRects = this.mCellRects;
+		for (int index = 0; index < itemCount; index++) {
+			if (cellRects[index] == null) {
+				cellRects[index] = new Rect();
+			} else {
+				cellRects[index].setEmpty();
+			}
 		}
-		itemViewSize[0] = Math.max(size, Math.min(itemViewSize[0], width));
-		itemViewSize[1] = Math.max(size, Math.min(itemViewSize[1], width));
-		return itemViewSize;
+		this.mCachedContentHeight = itemCount > 0
+				? this.mLayoutPolicy.calculateCellRects(this, width, itemCount, this.mGridGap, cellRects) : 0;
+		this.mCachedWidth = width;
+		this.mCachedItemCount = itemCount;
+		this.mCachedGridGap = this.mGridGap;
+		this.mCellRectsValid = true;
+		return cellRects;
 	}
 
-	@NonNull
-	private int[] calculateRowAndCol() {
-		final int[] ranks = new int[2];
-		ranks[0] = 3;
-		ranks[1] = 3;
-		return ranks;
+	private void invalidateCellRects() {
+		this.mCellRectsValid = false;
 	}
 
 	public void setGridGap(int gridGap) {
-		this.mGridGap = gridGap;
+		if (this.mGridGap != gridGap) {
+			this.mGridGap = gridGap;
+			this.requestLayout();
+		}
+	}
+
+	/**
+	 * Sets the shape of the grid, a {@link GridLayoutPolicy} of 3 columns by default.
+	 */
+	public void setLayoutPolicy(@NonNull LayoutPolicy layoutPolicy) {
+		if (this.mLayoutPolicy != layoutPolicy) {
+			this.mLayoutPolicy = layoutPolicy;
+			this.invalidateCellRects();
+			this.requestLayout();
+		}
+	}
+
+	@NonNull
+	public LayoutPolicy getLayoutPolicy() {
+		return this.mLayoutPolicy;
 	}
 
 	private OnItemClickListener mOnItemClickListener;
@@ -175,6 +192,7 @@ public class NineGridView extends ViewGroup {
 			this.performRecycledViewHolder(recycledOldViewHolders);
 		}
 		this.mAdapter = adapter;
+		this.invalidateCellRects();
 		if (this.mAdapter != null) {
 			if (this.mObserver == null) {
 				this.mObserver = new ViewObserver();
@@ -194,34 +212,134 @@ public class NineGridView extends ViewGroup {
 		return this.mRecycledPool;
 	}
 
-	private final RecycledPool<ViewHolder> mRecycledPool = new RecycledPool<>(9);
+	/**
+	 * Share one pool of ViewHolders between several NineGridViews, e.g. every row of a feed,
+	 * like {@link androidx.recyclerview.widget.RecyclerView#setRecycledViewPool}. ViewHolders are
+	 * keyed by item view type, so all adapters using the pool must agree on their view types.
+	 * A shared pool is never cleared by this view, size it with
+	 * {@link RecycledPool#setMaxRecycledSize(int, int)}.
+	 *
+	 * @param recycledPool the shared pool, or null to go back to a private pool.
+	 */
+	public void setRecycledPool(@Nullable RecycledPool<ViewHolder> recycledPool) {
+		if (this.mRecycledPool == recycledPool) {
+			return;
+		}
+		if (!this.mIsSharedRecycledPool) {
+			this.mRecycledPool.clear();
+		}
+		this.mIsSharedRecycledPool = recycledPool != null;
+		this.mRecycledPool = recycledPool != null ? recycledPool : new RecycledPool<ViewHolder>(9);
+	}
+
+	private RecycledPool<ViewHolder> mRecycledPool = new RecycledPool<>(9);
+	private boolean mIsSharedRecycledPool = false;
 	private final ArrayList<ViewHolder> mViewHolders = new ArrayList<>();
 
+	private OnViewHolderClickListener mOnViewHolderClickListener;
+	private OnViewHoldeLongrClickListener mOnViewHolderLongClickListener;
+
+	/**
+	 * Reconciles the attached holders with the adapter: child {@code index} always shows position
+	 * {@code index}, a holder whose item view type still matches is rebound in place and only the
+	 * difference is added or removed, with a single layout request at the end.
+	 */
 	private void dataSetChanged() {
-		this.performRecycledViewHolder(true);
-		if (this.mAdapter == null || this.mAdapter.getItemCount() == 0) {
+		final int itemCount = this.mAdapter == null ? 0 : Math.min(this.mAdapter.getItemCount(), MAX_ITEM_COUNT);
+		boolean structureChanged = false;
+		if (this.mLayoutPolicy.isDataDependent(itemCount)) {
+			this.invalidateCellRects();
+			structureChanged = true;
+		}
+		for (int index = this.mViewHolders.size() - 1; index >= itemCount; index--) {
+			this.recycledViewHolderAt(index);
+			structureChanged = true;
+		}
+		for (int position = 0; position < itemCount; position++) {
+			final int itemViewType = this.mAdapter.getItemViewType(position);
+			if (position < this.mViewHolders.size()) {
+				final ViewHolder holder = this.mViewHolders.get(position);
+				if (holder.itemViewType == itemViewType) {
+					holder.position = position;
+					continue;
+				}
+				this.recycledViewHolderAt(position);
+			}
+			final ViewHolder holder = this.performCreateViewHolder(position);
+			this.attachViewHolder(holder, position);
+			structureChanged = true;
+		}
+		// the cells are known before binding as long as the width did not change
+		this.updateCellSizeHints();
+		for (int position = 0; position < itemCount; position++) {
+			this.mAdapter.onBindViewHolder(this.mViewHolders.get(position), position, null);
+		}
+		if (structureChanged) {
+			this.requestLayout();
+			this.invalidate();
+		}
+		if (DEBUG) {
+			Log.i(TAG, "RecycledPool : " + this.mRecycledPool.toString());
+		}
+	}
+
+	private void updateCellSizeHints() {
+		if (this.mCachedWidth <= 0) {
+			// never measured, onCellSizeReady() reports the cells after the first layout
+			for (int index = 0; index < this.mViewHolders.size(); index++) {
+				this.mViewHolders.get(index).setCellSize(0, 0);
+			}
 			return;
 		}
-		for (int position = 0; position < Math.min(this.mAdapter.getItemCount(), 9); position++) {
-			final ViewHolder holder = this.performCreateViewHolder(position);
-			holder.itemView.setOnClickListener(new OnViewHolderClickListener(holder));
-			holder.itemView.setOnLongClickListener(new OnViewHoldeLongrClickListener(holder));
-
-			final LayoutParams mLayoutParams = holder.itemView.getLayoutParams();
-			LayoutParams preLayoutParams;
-			if (mLayoutParams == null) {
-				preLayoutParams = new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
-			} else if (!this.checkLayoutParams(mLayoutParams)) {
-				preLayoutParams = new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
-			} else {
-				preLayoutParams = mLayoutParams;
+		final Rect[] cellRects = this.obtainCellRects(this.mCachedWidth);
+		for (int index = 0; index < this.mViewHolders.size(); index++) {
+			final Rect cellRect = cellRects[index];
+			this.mViewHolders.get(index).setCellSize(cellRect.width(), cellRect.height());
+		}
+	}
+
+	private void dispatchCellSizeReady(@NonNull Rect[] cellRects) {
+		if (this.mAdapter == null) {
+			return;
+		}
+		for (int index = 0; index < this.mViewHolders.size(); index++) {
+			final ViewHolder holder = this.mViewHolders.get(index);
+			final Rect cellRect = cellRects[index];
+			if (holder.cellWidth != cellRect.width() || holder.cellHeight != cellRect.height()) {
+				holder.setCellSize(cellRect.width(), cellRect.height());
+				this.mAdapter.onCellSizeReady(holder, holder.position, holder.cellWidth, holder.cellHeight);
 			}
-			super.addView(holder.itemView, position, preLayoutParams);
-			this.mViewHolders.add(holder);
-			this.mAdapter.onBindViewHolder(holder, position, null);
 		}
 	}
 
+	private void attachViewHolder(@NonNull ViewHolder holder, int index) {
+		if (this.mOnViewHolderClickListener == null) {
+			this.mOnViewHolderClickListener = new OnViewHolderClickListener();
+			this.mOnViewHolderLongClickListener = new OnViewHoldeLongrClickListener();
+		}
+		holder.itemView.setOnClickListener(this.mOnViewHolderClickListener);
+		holder.itemView.setOnLongClickListener(this.mOnViewHolderLongClickListener);
+
+		final LayoutParams mLayoutParams = holder.itemView.getLayoutParams();
+		LayoutParams preLayoutParams;
+		if (mLayoutParams == null) {
+			preLayoutParams = new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
+		} else if (!this.checkLayoutParams(mLayoutParams)) {
+			preLayoutParams = new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
+		} else {
+			preLayoutParams = mLayoutParams;
+		}
+		super.addViewInLayout(holder.itemView, index, preLayoutParams, true);
+		this.mViewHolders.add(index, holder);
+	}
+
+	private void recycledViewHolderAt(int index) {
+		final ViewHolder holder = this.mViewHolders.remove(index);
+		holder.resetInternal();
+		this.removeViewInLayout(holder.itemView);
+		this.mRecycledPool.putRecycled(holder.itemViewType, holder);
+	}
+
 	private ViewHolder performCreateViewHolder(int position) {
 		final int itemViewType = this.mAdapter.getItemViewType(position);
 		ViewHolder holder = this.mRecycledPool.getRecycled(itemViewType);
@@ -253,12 +371,39 @@ public class NineGridView extends ViewGroup {
 			Log.i(TAG, "RecycledPool : " + this.mRecycledPool.toString());
 		}
 		if (!recycled) {
-			this.mRecycledPool.clear();
+			if (!this.mIsSharedRecycledPool) {
+				this.mRecycledPool.clear();
+			}
 			this.mViewHolders.clear();
 			this.removeAllViews();
 		}
 	}
 
+	private void itemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+		if (this.mAdapter == null || Math.min(this.mAdapter.getItemCount(), MAX_ITEM_COUNT) != this.mViewHolders.size()) {
+			// the data set changed behind our back
+			this.dataSetChanged();
+			return;
+		}
+		final int positionEnd = positionStart + itemCount;
+		if (this.mLayoutPolicy.isDataDependent(this.mViewHolders.size())) {
+			this.invalidateCellRects();
+			this.requestLayout();
+		}
+		for (int index = 0; index < this.mViewHolders.size(); index++) {
+			final ViewHolder holder = this.mViewHolders.get(index);
+			if (holder.position < positionStart || holder.position >= positionEnd) {
+				continue;
+			}
+			if (holder.itemViewType != this.mAdapter.getItemViewType(holder.position)) {
+				// only the holders of the changed types are swapped
+				this.dataSetChanged();
+				return;
+			}
+			this.mAdapter.onBindViewHolder(holder, holder.position, payload);
+		}
+	}
+
 	private boolean performRecycledForViewHolder(@NonNull ViewHolder holder) {
 		if (this.mViewHolders.remove(holder)) {
 			holder.resetInternal();
@@ -280,34 +425,28 @@ public class NineGridView extends ViewGroup {
 		return null;
 	}
 
+	/**
+	 * Shared by every child, the holder is looked up from the clicked view so that a holder
+	 * taken from a shared pool never reports to the NineGridView it was created by.
+	 */
 	final class OnViewHolderClickListener implements View.OnClickListener {
 
-		final ViewHolder mViewHolder;
-
-		OnViewHolderClickListener(@NonNull ViewHolder holder) {
-			this.mViewHolder = holder;
-		}
-
 		@Override
 		public void onClick(View view) {
-			if (mOnItemClickListener != null) {
-				mOnItemClickListener.onItemClick(NineGridView.this, view, this.mViewHolder.position);
+			final ViewHolder holder = getViewHolderForChild(view);
+			if (mOnItemClickListener != null && holder != null) {
+				mOnItemClickListener.onItemClick(NineGridView.this, view, holder.position);
 			}
 		}
 	}
 
 	final class OnViewHoldeLongrClickListener implements View.OnLongClickListener {
 
-		final ViewHolder mViewHolder;
-
-		OnViewHoldeLongrClickListener(@NonNull ViewHolder holder) {
-			this.mViewHolder = holder;
-		}
-
 		@Override
 		public boolean onLongClick(View view) {
-			if (mOnItemLongClickListener != null) {
-				return mOnItemLongClickListener.onItemLongClick(NineGridView.this, view, this.mViewHolder.position);
+			final ViewHolder holder = getViewHolderForChild(view);
+			if (mOnItemLongClickListener != null && holder != null) {
+				return mOnItemLongClickListener.onItemLongClick(NineGridView.this, view, holder.position);
 			}
 			return false;
 		}
@@ -324,13 +463,17 @@ public class NineGridView extends ViewGroup {
 		public void onInvalidated() {
 			dataSetChanged();
 		}
+
+		void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+			itemRangeChanged(positionStart, itemCount, payload);
+		}
 	}
 
 	public static abstract class Adapter<VH extends ViewHolder> {
 
 		private final DataSetObservable mObservable = new DataSetObservable();
 
-		private DataSetObserver mViewPagerObserver;
+		private ViewObserver mViewPagerObserver;
 
 		public final void registerDataSetObserver(@NonNull DataSetObserver observer) {
 			this.mObservable.registerObserver(observer);
@@ -349,6 +492,30 @@ public class NineGridView extends ViewGroup {
 			this.mObservable.notifyChanged();
 		}
 
+		/**
+		 * Rebinds the bound holder of the given position only, no view is recycled or recreated.
+		 */
+		public final void notifyItemChanged(int position) {
+			this.notifyItemRangeChanged(position, 1, null);
+		}
+
+		/**
+		 * Like {@link #notifyItemChanged(int)}, the payload is passed to
+		 * {@link #onBindViewHolder(ViewHolder, int, Object)} for a partial rebind.
+		 */
+		public final void notifyItemChanged(int position, @Nullable Object payload) {
+			this.notifyItemRangeChanged(position, 1, payload);
+		}
+
+		public final void notifyItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+			synchronized (this) {
+				if (this.mViewPagerObserver != null) {
+					this.mViewPagerObserver.onItemRangeChanged(positionStart, itemCount, payload);
+				}
+			}
+			this.mObservable.notifyChanged();
+		}
+
 		@CallSuper
 		public void onAttachedToWindow(@NonNull ViewGroup container) {
 			// NO-OP
@@ -362,6 +529,10 @@ public class NineGridView extends ViewGroup {
 		@NonNull
 		public abstract VH onCreateViewHolder(@NonNull LayoutInflater inflater, @NonNull ViewGroup container, int itemViewType);
 
+		/**
+		 * @param object null for a full bind, otherwise the payload of
+		 *               {@link #notifyItemChanged(int, Object)}.
+		 */
 		public abstract void onBindViewHolder(@NonNull VH holder, int position, @Nullable Object object);
 
 		public abstract int getItemCount();
@@ -374,7 +545,16 @@ public class NineGridView extends ViewGroup {
 			// NO-OP
 		}
 
-		final void setViewPagerObserver(@Nullable DataSetObserver observer) {
+		/**
+		 * Called from the layout pass when the cell of a bound holder got its final size or
+		 * changed it, i.e. when {@link ViewHolder#getCellWidth()} was not known at bind time.
+		 * Images can be requested at exactly this size instead of their full size.
+		 */
+		public void onCellSizeReady(@NonNull VH holder, int position, int cellWidth, int cellHeight) {
+			// NO-OP
+		}
+
+		final void setViewPagerObserver(@Nullable ViewObserver observer) {
 			synchronized (this) {
 				this.mViewPagerObserver = observer;
 			}
@@ -391,6 +571,8 @@ public class NineGridView extends ViewGroup {
 
 		private int position = NO_POSITION;
 		private int itemViewType = INVALID_TYPE;
+		private int cellWidth;
+		private int cellHeight;
 
 		public ViewHolder(@NonNull View itemView) {
 			this.itemView = itemView;
@@ -409,8 +591,177 @@ public class NineGridView extends ViewGroup {
 			return this.itemViewType;
 		}
 
+		/**
+		 * @return the width of the cell this holder is laid out in, already valid in
+		 * {@link Adapter#onBindViewHolder(ViewHolder, int, Object)} once the NineGridView was
+		 * measured, 0 if not known yet.
+		 */
+		public final int getCellWidth() {
+			return this.cellWidth;
+		}
+
+		/**
+		 * @return the height of the cell this holder is laid out in, 0 if not known yet.
+		 */
+		public final int getCellHeight() {
+			return this.cellHeight;
+		}
+
+		final void setCellSize(int cellWidth, int cellHeight) {
+			this.cellWidth = cellWidth;
+			this.cellHeight = cellHeight;
+		}
+
 		final void resetInternal() {
 			this.position = NO_POSITION;
+			this.cellWidth = 0;
+			this.cellHeight = 0;
+		}
+	}
+
+	/**
+	 * Computes the cell of every item. The result is cached per width, item count and gap, a
+	 * policy must therefore return the same cells for the same arguments unless
+	 * {@link #isDataDependent(int)} says otherwise.
+	 */
+	public static abstract class LayoutPolicy {
+
+		/**
+		 * @param width     width of the content area, without the padding.
+		 * @param itemCount number of items, between 1 and 9.
+		 * @param cellRects fill the first {@code itemCount} rects relative to the top left corner
+		 *                  of the content area.
+		 * @return height of the content area.
+		 */
+		public abstract int calculateCellRects(@NonNull NineGridView container, int width, int itemCount,
+											   int gap, @NonNull Rect[] cellRects);
+
+		/**
+		 * @return true if the cells of this item count depend on the bound data, they are then
+		 * computed again after every data change.
+		 */
+		public boolean isDataDependent(int itemCount) {
+			return false;
+		}
+	}
+
+	/**
+	 * Square cells in rows of {@code spanCount}. A single item is sized by
+	 * {@link Adapter#getSingleItemViewSize(ViewGroup, int[])}.
+	 */
+	public static class GridLayoutPolicy extends LayoutPolicy {
+
+		private final int mSpanCount;
+
+		public GridLayoutPolicy(int spanCount) {
+			if (spanCount <= 0) {
+				throw new IllegalArgumentException("spanCount must be > 0, but was " + spanCount);
+			}
+			this.mSpanCount = spanCount;
+		}
+
+		public int getSpanCount() {
+			return this.mSpanCount;
+		}
+
+		@Override
+		public int calculateCellRects(@NonNull NineGridView container, int width, int itemCount,
+									  int gap, @NonNull Rect[] cellRects) {
+			final int size = this.getCellSize(width, gap);
+			if (itemCount == 1) {
+				return this.calculateSingleCellRect(container, width, size, cellRects[0]);
+			}
+			return layoutRows(cellRects, 0, itemCount, this.mSpanCount, size, size, gap, 0);
+		}
+
+		@Override
+		public boolean isDataDependent(int itemCount) {
+			return itemCount == 1;
+		}
+
+		protected final int getCellSize(int width, int gap) {
+			return Math.max(0, (width - (this.mSpanCount - 1) * gap) / this.mSpanCount);
+		}
+
+		protected final int calculateSingleCellRect(@NonNull NineGridView container, int width, int size,
+													@NonNull Rect cellRect) {
+			final int[] itemViewSize = container.mSingleItemViewSize;
+			itemViewSize[0] = size;
+			itemViewSize[1] = size;
+			if (container.mAdapter != null) {
+				container.mAdapter.getSingleItemViewSize(container, itemViewSize);
+			}
+			cellRect.set(0, 0, Math.max(size, Math.min(itemViewSize[0], width)),
+					Math.max(size, Math.min(itemViewSize[1], width)));
+			return cellRect.bottom;
+		}
+
+		/**
+		 * Lays out {@code count} cells from {@code fromIndex} in rows of {@code columns}.
+		 *
+		 * @return the bottom of the last row.
+		 */
+		protected static int layoutRows(@NonNull Rect[] cellRects, int fromIndex, int count, int columns,
+										 int cellWidth, int cellHeight, int gap, int top) {
+			int bottom = top;
+			for (int index = 0; index < count; index++) {
+				final int row = index / columns;
+				final int column = index % columns;
+				final int left = column * (cellWidth + gap);
+				final int cellTop = top + row * (cellHeight + gap);
+				cellRects[fromIndex + index].set(left, cellTop, left + cellWidth, cellTop + cellHeight);
+				bottom = cellTop + cellHeight;
+			}
+			return bottom;
+		}
+	}
+
+	/**
+	 * Like WeChat moments: a single item keeps its own size, four items form a 2x2 square and
+	 * every other count uses rows of three.
+	 */
+	public static class AdaptiveLayoutPolicy extends GridLayoutPolicy {
+
+		public AdaptiveLayoutPolicy() {
+			super(3);
+		}
+
+		@Override
+		public int calculateCellRects(@NonNull NineGridView container, int width, int itemCount,
+									  int gap, @NonNull Rect[] cellRects) {
+			if (itemCount == 4) {
+				final int size = this.getCellSize(width, gap);
+				return layoutRows(cellRects, 0, itemCount, 2, size, size, gap, 0);
+			}
+			return super.calculateCellRects(container, width, itemCount, gap, cellRects);
+		}
+	}
+
+	/**
+	 * 1 + N collage: the first item spans the whole width with the height of two rows, the
+	 * others follow in rows of {@code spanCount}.
+	 */
+	public static class CollageLayoutPolicy extends GridLayoutPolicy {
+
+		public CollageLayoutPolicy(int spanCount) {
+			super(spanCount);
+		}
+
+		@Override
+		public int calculateCellRects(@NonNull NineGridView container, int width, int itemCount,
+									  int gap, @NonNull Rect[] cellRects) {
+			final int size = this.getCellSize(width, gap);
+			cellRects[0].set(0, 0, width, size * 2 + gap);
+			if (itemCount == 1) {
+				return cellRects[0].bottom;
+			}
+			return layoutRows(cellRects, 1, itemCount - 1, this.getSpanCount(), size, size, gap,
+					cellRects[0].bottom + gap);
+		}
+
+		@Override
+		public boolean isDataDependent(int itemCount) {
+			return false;
 		}
 	}
 
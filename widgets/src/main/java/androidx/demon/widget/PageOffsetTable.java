@@ -0,0 +1,91 @@
+package androidx.demon.widget;
+
+import java.util.Arrays;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Author create by ok on 2026-10-18
+ * Email : ok@163.com.
+ * <p>
+ * Fenwick tree over {@link ViewPagerCompat.Adapter#getPageWeight(int)} keyed by adapter
+ * position, so the distance between two far apart pages costs O(log n) instead of one adapter
+ * call per page in between. Built lazily, invalidate it whenever the data set changes.
+ */
+final class PageOffsetTable {
+
+	private float[] mTree = new float[1];
+	private int mItemCount;
+	private float mTotalWeight;
+	private boolean mValid;
+
+	void invalidate() {
+		this.mValid = false;
+	}
+
+	/**
+	 * @return sum of the weights of the page positions [fromPosition, toPosition), which wrap
+	 * around the item count while scrolling loop.
+	 */
+	float getWeightSum(@NonNull ViewPagerCompat.Adapter adapter, int fromPosition, int toPosition, boolean scrollingLoop) {
+		this.ensureValid(adapter);
+		final int itemCount = this.mItemCount;
+		if (toPosition <= fromPosition || itemCount <= 0) {
+			return 0.F;
+		}
+		if (!scrollingLoop) {
+			fromPosition = Math.max(0, fromPosition);
+			toPosition = Math.min(itemCount, toPosition);
+			return toPosition > fromPosition ? this.prefix(toPosition) - this.prefix(fromPosition) : 0.F;
+		}
+		final int count = toPosition - fromPosition;
+		int start = fromPosition % itemCount;
+		if (start < 0) {
+			start += itemCount;
+		}
+		final int remainder = count % itemCount;
+		float weightSum = (float) (count / itemCount) * this.mTotalWeight;
+		if (start + remainder <= itemCount) {
+			weightSum += this.prefix(start + remainder) - this.prefix(start);
+		} else {
+			weightSum += this.mTotalWeight - this.prefix(start) + this.prefix(start + remainder - itemCount);
+		}
+		return weightSum;
+	}
+
+	private void ensureValid(@NonNull ViewPagerCompat.Adapter adapter) {
+		final int itemCount = adapter.getItemCount();
+		if (this.mValid && this.mItemCount == itemCount) {
+			return;
+		}
+		if (this.mTree.length < itemCount + 1) {
+			this.mTree = new float[itemCount + 1];
+		} else {
+			Arrays.fill(this.mTree, 0, itemCount + 1, 0.F);
+		}
+		final float[] tree = this.mTree;
+		// linear build: every node pushes its sum to its parent
+		for (int index = 1; index <= itemCount; index++) {
+			tree[index] += adapter.getPageWeight(index - 1);
+			final int parent = index + (index & -index);
+			if (parent <= itemCount) {
+				tree[parent] += tree[index];
+			}
+		}
+		this.mItemCount = itemCount;
+		this.mValid = true;
+		this.mTotalWeight = this.prefix(itemCount);
+	}
+
+	/**
+	 * @return sum of the weights of the adapter positions [0, count).
+	 */
+	private float prefix(int count) {
+		final float[] tree = this.mTree;
+		float weightSum = 0.F;
+		for (int index = count; index > 0; index -= index & -index) {
+			weightSum += tree[index];
+		}
+		return weightSum;
+	}
+}
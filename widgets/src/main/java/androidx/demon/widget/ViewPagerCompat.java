@@ -15,6 +15,8 @@ import android.os.Parcel;
 import android.os.Parcelable;
 import android.util.AttributeSet;
 import android.util.Log;
+import android.util.SparseArray;
+import android.view.Display;
 import android.view.FocusFinder;
 import android.view.Gravity;
 import android.view.KeyEvent;
@@ -37,6 +39,8 @@ import java.lang.annotation.Target;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.concurrent.TimeUnit;
 
 import androidx.annotation.CallSuper;
 import androidx.annotation.DrawableRes;
@@ -110,6 +114,8 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 
 	private static final int INVALID_POINTER = -1;
 	private static final int DEFAULT_OFFSCREEN_PAGES = 1;
+	// not more than DEFAULT_OFFSCREEN_PAGES, the lowest offscreen limit, so the page is live
+	private static final int LONG_JUMP_SETTLE_PAGES = 1;
 	private static final int DEFAULT_GUTTER_SIZE = 16; // dips
 	private static final int DEFAULT_CLOSE_ENOUGH = 2; // dips
 	private static final int MIN_SETTLE_DURATION = 350; // ms
@@ -268,6 +274,16 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 		if (!this.mIsDetachedFromWindow) {
 			this.mFirstLayout = true;
 		}
+		// Same approach as RecyclerView's GapWorker: the page prefetch budget is one frame.
+		final Display display = ViewCompat.getDisplay(this);
+		float refreshRate = 60.0F;
+		if (!this.isInEditMode() && display != null) {
+			final float displayRefreshRate = display.getRefreshRate();
+			if (displayRefreshRate >= 30.0F) {
+				refreshRate = displayRefreshRate;
+			}
+		}
+		this.mFrameIntervalNs = (long) (TimeUnit.SECONDS.toNanos(1) / refreshRate);
 	}
 
 	@Override
@@ -279,6 +295,8 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 			this.mScroller.abortAnimation();
 		}
 		this.removeCallbacks(this.mCompleteScrollRunnable);
+		this.removeCallbacks(this.mPagePrefetchRunnable);
+		this.mPagePrefetchPosted = false;
 		super.onDetachedFromWindow();
 	}
 
@@ -489,6 +507,9 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 	@Override
 	public void draw(Canvas canvas) {
 		super.draw(canvas);
+		if (this.mPageFrameMetrics != null) {
+			this.dispatchPageFrameMetrics(this.mPageFrameMetrics);
+		}
 		final int overScrollMode = this.getOverScrollMode();
 		if (overScrollMode == View.OVER_SCROLL_ALWAYS
 				|| (overScrollMode == View.OVER_SCROLL_IF_CONTENT_SCROLLS
@@ -564,8 +585,9 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 			final float marginOffset = (float) this.mPageMargin / clientSize;
 			final int itemCount = this.mPagePool.size();
 
-			int nextIndex = 0;
-			Page page = this.mPagePool.get(0);
+			// Skip the pages that end before the viewport, offsets grow with the position.
+			int nextIndex = clipToPadding ? this.findFirstVisiblePageIndex((float) scrollOffset / clientSize, marginOffset) : 0;
+			Page page = this.mPagePool.get(nextIndex);
 			final int firstPosition = page.position;
 			final int lastPosition = this.mPagePool.get(itemCount - 1).position;
 
@@ -673,6 +695,21 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 		}
 	}
 
+	@Override
+	public void onViewRemoved(View view) {
+		super.onViewRemoved(view);
+		// every removal path ends here, do not hand a recycled page back with our layer or culled
+		final ViewGroup.LayoutParams layoutParams = view.getLayoutParams();
+		if (layoutParams instanceof LayoutParams && ((LayoutParams) layoutParams).layerPromoted) {
+			((LayoutParams) layoutParams).layerPromoted = false;
+			view.setLayerType(View.LAYER_TYPE_NONE, null);
+		}
+		if (layoutParams instanceof LayoutParams && ((LayoutParams) layoutParams).culled) {
+			((LayoutParams) layoutParams).culled = false;
+			view.setVisibility(View.VISIBLE);
+		}
+	}
+
 	@Override
 	public void removeView(View view) {
 		if (this.mInLayout) {
@@ -868,6 +905,20 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 
 	@Override
 	public void computeScroll() {
+		final PageFrameMetrics metrics = this.mPageFrameMetrics;
+		if (metrics == null) {
+			this.performComputeScroll();
+			return;
+		}
+		final long startNs = metrics.beginSection();
+		try {
+			this.performComputeScroll();
+		} finally {
+			metrics.computeScrollNs += metrics.endSection(startNs);
+		}
+	}
+
+	private void performComputeScroll() {
 		this.mIsScrollStarted = true;
 		if (!this.mScroller.isFinished()
 				&& this.mScroller.computeScrollOffset()) {
@@ -1402,9 +1453,11 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 		if (VERTICAL == this.mOrientation) {
 			this.scrollTo(oldScrollX, (int) nowScroll);
 			this.pageScrolled(oldScrollX, (int) nowScroll);
+			this.schedulePagePrefetch((int) nowScroll - oldScrollY);
 		} else {
 			this.scrollTo((int) nowScroll, oldScrollY);
 			this.pageScrolled((int) nowScroll, oldScrollY);
+			this.schedulePagePrefetch((int) nowScroll - oldScrollX);
 		}
 
 		if (VERTICAL == this.mOrientation) {
@@ -1476,25 +1529,70 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 			return;
 		}
 		this.mScrollState = newState;
-		if (this.mPageTransformer != null) {
-			// PageTransformers can do complex things that benefit from hardware layers.
-			final boolean shouldLayerTypeEnabled = newState != SCROLL_STATE_IDLE;
+		if (newState == SCROLL_STATE_IDLE) {
+			// Layers only pay off while transforms animate, pages get them back on the next drag.
 			for (int index = 0; index < this.getChildCount(); index++) {
-				final int layerType = shouldLayerTypeEnabled
-						? this.mPageTransformerLayerType : View.LAYER_TYPE_NONE;
-				this.getChildAt(index).setLayerType(layerType, null);
+				this.updatePageLayer(this.getChildAt(index), false);
 			}
 		}
 		if (this.mIsScrollingLoop) {
 			if (this.mScrollState == SCROLL_STATE_IDLE && this.mAdapter != null) {
 				if (this.mCurrentPosition < 0 || this.mCurrentPosition >= this.mAdapter.getItemCount()) {
-					this.setCurrentItemInternal(this.getCurrentItem(), false, true);
+					this.rebaseScrollingLoop();
 				}
 			}
 		}
 		this.dispatchOnScrollStateChanged(newState);
 	}
 
+	/**
+	 * Brings the page positions of a scrolling loop back to [0, itemCount) once it rests.
+	 * Every page shifts by the same multiple of the item count, so it keeps its object and
+	 * adapter position, and offsets and scroll shift with it: nothing is recreated or redrawn
+	 * differently, and positions, offsets and scroll coordinates never grow without bound.
+	 * The adapter is not told, adapter positions don't change; an adapter that keys its objects
+	 * on the page position opts out by {@link Adapter#canRebaseScrollingLoop()}.
+	 */
+	private void rebaseScrollingLoop() {
+		final Page currentPage = this.getPagerForPosition(this.mCurrentPosition);
+		if (currentPage == null || this.mFirstLayout || this.mPopulatePending || !this.mScroller.isFinished()
+				|| this.mAdapter.getItemCount() != this.mExpectedItemCount
+				|| !this.mAdapter.canRebaseScrollingLoop()) {
+			this.setCurrentItemInternal(this.getCurrentItem(), false, true);
+			return;
+		}
+		final int positionDelta = this.mCurrentPosition - currentPage.adapterPosition;
+		final float offsetDelta = currentPage.offset;
+		this.mPositionPageIndex.clear();
+		for (int index = 0; index < this.mPagePool.size(); index++) {
+			final Page page = this.mPagePool.get(index);
+			page.position -= positionDelta;
+			page.offset -= offsetDelta;
+			this.mPositionPageIndex.put(page.position, page);
+		}
+		this.mCurrentPosition -= positionDelta;
+		this.mFirstOffset -= offsetDelta;
+		this.mLastOffset -= offsetDelta;
+		for (int index = 0; index < this.getChildCount(); index++) {
+			final View preChildView = this.getChildAt(index);
+			final LayoutParams preLayoutParams = (LayoutParams) preChildView.getLayoutParams();
+			if (preLayoutParams.isDecor) {
+				continue;
+			}
+			final Page page = this.getPagerForChild(preChildView);
+			if (page != null) {
+				preLayoutParams.position = page.position;
+			}
+		}
+		// the pending layout places the children at their new offsets before the next draw
+		if (VERTICAL == this.mOrientation) {
+			this.scrollTo(this.getScrollX(), this.getScrollY() - (int) (this.getClientHeight() * offsetDelta));
+		} else {
+			this.scrollTo(this.getScrollX() - (int) (this.getClientWidth() * offsetDelta), this.getScrollY());
+		}
+		this.requestLayout();
+	}
+
 	private int determineTargetPage(int deltaX, int deltaY, int velocityX, int velocityY) {
 		final Page page = this.getPagerForCurrentScrollPosition();
 		final int mCurrentScrollPosition = page.position;
@@ -1622,11 +1720,13 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 			this.removeNonDecorViews();
 			this.mCurrentPosition = 0;
 			this.mPagePool.clear();
+			this.clearPageIndex();
 			this.scrollTo(0, 0);
 		}
 
 		final Adapter oldAdapter = this.mAdapter;
 		this.mAdapter = adapter;
+		this.invalidatePageOffsetTable();
 		this.mExpectedItemCount = 0;
 
 		if (this.mAdapter != null) {
@@ -1752,6 +1852,9 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 		final boolean hasTransformer = transformer != null;
 		final boolean hasLastTransformer = this.mPageTransformer != null;
 		final boolean needsPopulate = (hasTransformer == !hasLastTransformer);
+		for (int index = 0; index < this.getChildCount(); index++) {
+			this.updatePageLayer(this.getChildAt(index), false);
+		}
 		this.mPageTransformer = transformer;
 		this.setChildrenDrawingOrderEnabled(hasTransformer);
 		if (hasTransformer) {
@@ -1976,8 +2079,13 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 		if (!this.mIsScrollingLoop) {
 			position = Math.max(0, Math.min(position, this.mAdapter.getItemCount() - 1));
 		}
-		if (position > (currentPosition + this.mOffscreenPageLimit)
-				|| position < (currentPosition - this.mOffscreenPageLimit)) {
+		// A long smooth jump does not keep the old pages for the animation, it only settles
+		// over the last page of the target neighbourhood, see setLongJumpThreshold(int).
+		final int jumpDistance = position - this.mCurrentPosition;
+		final int longJumpDirection = smoothScroll && this.mLongJumpThreshold > 0
+				&& Math.abs(jumpDistance) > this.mLongJumpThreshold ? (jumpDistance > 0 ? 1 : -1) : 0;
+		if (longJumpDirection == 0 && (position > (currentPosition + this.mOffscreenPageLimit)
+				|| position < (currentPosition - this.mOffscreenPageLimit))) {
 			for (Page page : this.mPagePool) {
 				page.scrolling = true;
 			}
@@ -1993,10 +2101,55 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 			this.requestLayout();
 		} else {
 			this.populate(position);
+			if (longJumpDirection != 0) {
+				this.prepareLongJump(position, longJumpDirection);
+			}
 			this.scrollToItem(position, smoothScroll, velocityX, velocityY, dispatchSelected);
 		}
 	}
 
+	private int mLongJumpThreshold = 0;
+
+	/**
+	 * Smooth scrolls over more than {@code pageCount} pages, e.g. a tab click far away, first
+	 * teleport next to the target and then settle over the last page only, instead of
+	 * animating across the whole distance with the old pages kept alive until it ends.
+	 *
+	 * @param pageCount 0 to always animate the whole distance, the default.
+	 */
+	public void setLongJumpThreshold(int pageCount) {
+		this.mLongJumpThreshold = Math.max(0, pageCount);
+	}
+
+	public int getLongJumpThreshold() {
+		return this.mLongJumpThreshold;
+	}
+
+	/**
+	 * Moves the scroll, without animation, onto the page before the target in the jump
+	 * direction. populate() has already replaced the old pages by the target neighbourhood.
+	 */
+	private void prepareLongJump(int position, int direction) {
+		final Page page = this.getPagerForPosition(position - direction * LONG_JUMP_SETTLE_PAGES);
+		if (page == null) {
+			// target at the edge, settle from wherever we are
+			return;
+		}
+		if (!this.mScroller.isFinished()) {
+			this.mScroller.abortAnimation();
+		}
+		final float offset = Math.max(this.mFirstOffset, Math.min(page.offset, this.mLastOffset));
+		int destX = this.getScrollX();
+		int destY = this.getScrollY();
+		if (VERTICAL == this.mOrientation) {
+			destY = (int) (this.getClientHeight() * offset);
+		} else {
+			destX = (int) (this.getClientWidth() * offset);
+		}
+		this.scrollTo(destX, destY);
+		this.pageScrolled(destX, destY);
+	}
+
 	void scrollToItem(int position, boolean smoothScroll, int velocityX, int velocityY, boolean dispatchSelected) {
 		final Page page = this.getPagerForPosition(position);
 		int destX = 0;
@@ -2088,6 +2241,7 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 		this.mIsScrollStarted = false;
 		this.mScroller.startScroll(scrollX, scrollY, dx, dy, duration);
 		ViewCompat.postInvalidateOnAnimation(this);
+		this.schedulePagePrefetch(VERTICAL == this.mOrientation ? dy : dx);
 	}
 
 	private float distanceInfluenceForSnapDuration(float distanceRatio) {
@@ -2173,7 +2327,7 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 			mOffsetPixels = (int) (mPageOffset * (width + this.mPageMargin));
 		}
 		this.mCalledSuper = false;
-		this.onPageScrolled(this.adapterPositionForPosition(page.position), mPageOffset, mOffsetPixels);
+		this.onPageScrolled(page.adapterPosition, mPageOffset, mOffsetPixels);
 		if (!this.mCalledSuper) {
 			throw new IllegalStateException("onPageScrolled did not call superclass implementation");
 		}
@@ -2245,15 +2399,34 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 				}
 			}
 		}
+		final PageFrameMetrics metrics = this.mPageFrameMetrics;
+		long startNs = metrics != null ? metrics.beginSection() : 0;
 		this.dispatchOnPageScrolled(position, offset, offsetPixels);
+		if (metrics != null) {
+			metrics.pageScrolledNs += metrics.endSection(startNs);
+		}
 
+		if (this.mPageCullingEnabled && this.mPageTransformer == null) {
+			for (int index = 0; index < this.getChildCount(); index++) {
+				final View preChildView = this.getChildAt(index);
+				if (!((LayoutParams) preChildView.getLayoutParams()).isDecor) {
+					this.updatePageCulled(preChildView, this.isPageCulled(preChildView, mScrollX, mScrollY));
+				}
+			}
+		}
 		if (this.mPageTransformer != null) {
+			startNs = metrics != null ? metrics.beginSection() : 0;
 			for (int index = 0; index < this.getChildCount(); index++) {
 				final View preChildView = this.getChildAt(index);
 				final LayoutParams preLayoutParams = (LayoutParams) preChildView.getLayoutParams();
 				if (preLayoutParams.isDecor) {
 					continue;
 				}
+				if (this.mPageCullingEnabled
+						&& this.updatePageCulled(preChildView, this.isPageCulled(preChildView, mScrollX, mScrollY))) {
+					this.updatePageLayer(preChildView, false);
+					continue;
+				}
 				final float transformPos;
 				if (VERTICAL == this.mOrientation) {
 					transformPos = (float) (preChildView.getTop() - mScrollY) / this.getClientHeight();
@@ -2267,11 +2440,111 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 				 * right page : (0, ~]
 				 * */
 				this.mPageTransformer.transformPage(preChildView, transformPos);
+				// PageTransformers can do complex things that benefit from hardware layers,
+				// but only pages partly on screen are worth one.
+				final float pageSize;
+				if (VERTICAL == this.mOrientation) {
+					pageSize = (float) preChildView.getHeight() / this.getClientHeight();
+				} else {
+					pageSize = (float) preChildView.getWidth() / this.getClientWidth();
+				}
+				this.updatePageLayer(preChildView, this.mScrollState != SCROLL_STATE_IDLE
+						&& transformPos > -pageSize && transformPos < 1.f);
+			}
+			if (metrics != null) {
+				metrics.transformPageNs += metrics.endSection(startNs);
 			}
 		}
 		this.mCalledSuper = true;
 	}
 
+	/**
+	 * @return index in {@link #mPagePool} of the first page whose end is past scrollOffset.
+	 */
+	private int findFirstVisiblePageIndex(float scrollOffset, float marginOffset) {
+		int low = 0;
+		int high = this.mPagePool.size() - 1;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			final Page page = this.mPagePool.get(middle);
+			if (page.offset + page.weight + marginOffset <= scrollOffset) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Hide attached pages that are entirely outside of the viewport, and skip their transforms,
+	 * instead of drawing and transforming every page of a large offscreen limit each frame.
+	 * Pages become visible again as soon as they enter the viewport.
+	 * <p>
+	 * Only for transformers that do not move pages from outside of the viewport into it.
+	 */
+	public void setPageCullingEnabled(boolean enabled) {
+		if (this.mPageCullingEnabled == enabled) {
+			return;
+		}
+		this.mPageCullingEnabled = enabled;
+		if (!enabled) {
+			for (int index = 0; index < this.getChildCount(); index++) {
+				this.updatePageCulled(this.getChildAt(index), false);
+			}
+		} else if (!this.mPagePool.isEmpty()) {
+			this.pageScrolled(this.getScrollX(), this.getScrollY());
+		}
+	}
+
+	public boolean isPageCullingEnabled() {
+		return this.mPageCullingEnabled;
+	}
+
+	private boolean isPageCulled(@NonNull View child, int scrollX, int scrollY) {
+		// pages in the padding are still drawn without clipToPadding
+		final boolean clipToPadding = Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP && this.getClipToPadding();
+		if (VERTICAL == this.mOrientation) {
+			final int clientTop = scrollY + (clipToPadding ? this.mPageBoundsRect.top : 0);
+			final int clientHeight = clipToPadding ? this.getClientHeight() : this.getHeight();
+			return child.getBottom() <= clientTop || child.getTop() >= clientTop + clientHeight;
+		}
+		final int clientLeft = scrollX + (clipToPadding ? this.mPageBoundsRect.left : 0);
+		final int clientWidth = clipToPadding ? this.getClientWidth() : this.getWidth();
+		return child.getRight() <= clientLeft || child.getLeft() >= clientLeft + clientWidth;
+	}
+
+	/**
+	 * @return true if the page is culled now.
+	 */
+	private boolean updatePageCulled(@NonNull View child, boolean culled) {
+		final LayoutParams preLayoutParams = (LayoutParams) child.getLayoutParams();
+		if (preLayoutParams.culled == culled) {
+			return culled;
+		}
+		if (culled) {
+			if (child.getVisibility() != View.VISIBLE) {
+				// hidden by the app, not ours to manage
+				return false;
+			}
+			child.setVisibility(View.INVISIBLE);
+		} else {
+			child.setVisibility(View.VISIBLE);
+		}
+		preLayoutParams.culled = culled;
+		return culled;
+	}
+
+	private void updatePageLayer(@NonNull View child, boolean promoted) {
+		final LayoutParams preLayoutParams = (LayoutParams) child.getLayoutParams();
+		if (preLayoutParams.isDecor || preLayoutParams.layerPromoted == promoted
+				|| (promoted && this.mPageTransformerLayerType == View.LAYER_TYPE_NONE)) {
+			return;
+		}
+		preLayoutParams.layerPromoted = promoted;
+		child.setLayerType(promoted ? this.mPageTransformerLayerType : View.LAYER_TYPE_NONE, null);
+	}
+
 	private void dispatchOnScrollStateChanged(int state) {
 		if (this.mOnPageChangeListeners != null) {
 			for (OnPageChangeListener listener : this.mOnPageChangeListeners) {
@@ -2302,12 +2575,19 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 	private ArrayList<OnAdapterChangeListener> mOnAdapterChangeListeners;
 	private final Page mTempPage = new Page();
 	private final ArrayList<Page> mPagePool = new ArrayList<>();
+	/**
+	 * Indexes over {@link #mPagePool} so that lookups by child or position do not walk the pool.
+	 * The child index is filled lazily, the adapter decides which view belongs to which object.
+	 */
+	private final IdentityHashMap<View, Page> mChildPageIndex = new IdentityHashMap<>();
+	private final SparseArray<Page> mPositionPageIndex = new SparseArray<>();
 	private final ArrayList<View> mDrawingOrderedChilds = new ArrayList<>();
 	private final ViewPositionComparator sViewPositionComparator = new ViewPositionComparator();
 	private final PagePositionComparator sPagePositionComparator = new PagePositionComparator();
 
 	void dataSetChanged() {
 		// This method only gets called if our observer is attached, so mAdapter is non-null.
+		this.invalidatePageOffsetTable();
 		final int itemCount = this.mAdapter.getItemCount();
 		boolean needPopulate = this.mPagePool.size() < this.mOffscreenPageLimit * 2 + 1 && this.mPagePool.size() < itemCount;
 
@@ -2333,13 +2613,14 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 
 			if (newPosition == Adapter.POSITION_NONE) {
 				this.mPagePool.remove(index);
+				this.removePageIndex(page);
 				index--;
 
 				if (!isUpdating) {
 					this.mAdapter.onStartUpdate(this);
 					isUpdating = true;
 				}
-				this.mAdapter.onDestroyItem(this, page.object, this.adapterPositionForPosition(page.position));
+				this.mAdapter.onDestroyItem(this, page.object, page.adapterPosition);
 				needPopulate = true;
 
 				if (page.position == this.mCurrentPosition) {
@@ -2363,6 +2644,13 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 			this.mAdapter.onFinishUpdate(this);
 		}
 		Collections.sort(this.mPagePool, this.sPagePositionComparator);
+		// positions and the item count may have moved, rebuild the indexes
+		this.mPositionPageIndex.clear();
+		for (int index = 0; index < this.mPagePool.size(); index++) {
+			final Page page = this.mPagePool.get(index);
+			page.adapterPosition = this.adapterPositionForPosition(page.position);
+			this.mPositionPageIndex.put(page.position, page);
+		}
 
 		if (needPopulate) {
 			// Reset our known page widths; populate will recompute them.
@@ -2377,11 +2665,190 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 		}
 	}
 
+	static final int UPDATE_OP_ADD = 1;
+	static final int UPDATE_OP_REMOVE = 2;
+	static final int UPDATE_OP_MOVE = 3;
+
+	/**
+	 * Rebinds the live pages in [positionStart, positionStart + itemCount) in place, pages the
+	 * adapter can not rebind are recreated. Every other page is left untouched.
+	 */
+	void itemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+		this.invalidatePageOffsetTable();
+		if (this.mAdapter.getItemCount() != this.mExpectedItemCount) {
+			// the data set changed behind our back
+			this.dataSetChanged();
+			return;
+		}
+		final int positionEnd = positionStart + itemCount;
+		boolean needPopulate = false;
+		boolean isUpdating = false;
+		for (int index = 0; index < this.mPagePool.size(); index++) {
+			final Page page = this.mPagePool.get(index);
+			final int adapterPosition = page.adapterPosition;
+			if (adapterPosition < positionStart || adapterPosition >= positionEnd) {
+				continue;
+			}
+			if (!isUpdating) {
+				this.mAdapter.onStartUpdate(this);
+				isUpdating = true;
+			}
+			if (this.mAdapter.onRebindItem(this, page.object, adapterPosition, payload)) {
+				final float weight = this.mAdapter.getPageWeight(adapterPosition);
+				if (page.weight != weight) {
+					page.weight = weight;
+					this.invalidatePageWeight(page);
+					needPopulate = true;
+				}
+			} else {
+				this.performOnRemovePage(index);
+				index--;
+				needPopulate = true;
+			}
+		}
+		if (isUpdating) {
+			this.mAdapter.onFinishUpdate(this);
+		}
+		if (needPopulate) {
+			this.setCurrentItemInternal(this.mCurrentPosition, false, true);
+			this.requestLayout();
+		}
+	}
+
+	/**
+	 * Shifts the live pages for an insert, remove or move of adapter items instead of asking the
+	 * adapter about every page, only removed pages are destroyed and missing ones created.
+	 *
+	 * @param op            one of {@link #UPDATE_OP_ADD}, {@link #UPDATE_OP_REMOVE} or {@link #UPDATE_OP_MOVE}
+	 * @param positionStart first adapter position, or the from position of a move
+	 * @param itemCount     number of items, or the to position of a move
+	 */
+	void itemRangeUpdated(int op, int positionStart, int itemCount) {
+		this.invalidatePageOffsetTable();
+		final int expectedItemCount;
+		if (UPDATE_OP_ADD == op) {
+			expectedItemCount = this.mExpectedItemCount + itemCount;
+		} else if (UPDATE_OP_REMOVE == op) {
+			expectedItemCount = this.mExpectedItemCount - itemCount;
+		} else {
+			expectedItemCount = this.mExpectedItemCount;
+		}
+		final int adapterItemCount = this.mAdapter.getItemCount();
+		if (this.mIsScrollingLoop || adapterItemCount != expectedItemCount) {
+			// page positions of a loop wrap around the item count, every page moves
+			this.dataSetChanged();
+			return;
+		}
+		this.mExpectedItemCount = expectedItemCount;
+
+		int nowCurrentPosition = this.transformItemPosition(op, this.mCurrentPosition, positionStart, itemCount);
+		if (nowCurrentPosition == Adapter.POSITION_NONE) {
+			// Keep the current item in the valid range
+			nowCurrentPosition = Math.max(0, Math.min(positionStart, adapterItemCount - 1));
+		}
+		boolean isUpdating = false;
+		for (int index = 0; index < this.mPagePool.size(); index++) {
+			final Page page = this.mPagePool.get(index);
+			final int newPosition = this.transformItemPosition(op, page.position, positionStart, itemCount);
+			if (newPosition == page.position) {
+				continue;
+			}
+			if (!isUpdating) {
+				this.mAdapter.onStartUpdate(this);
+				isUpdating = true;
+			}
+			if (newPosition == Adapter.POSITION_NONE) {
+				// not scrolling loop, the page position is the old adapter position
+				this.mPagePool.remove(index);
+				this.removePageIndex(page);
+				this.mAdapter.onDestroyItem(this, page.object, page.position);
+				index--;
+				continue;
+			}
+			this.mAdapter.onItemPositionChanged(this, page.object, page.position, newPosition);
+			page.position = newPosition;
+			page.adapterPosition = newPosition;
+			this.invalidatePageWeight(page);
+		}
+		if (isUpdating) {
+			this.mAdapter.onFinishUpdate(this);
+		}
+		if (UPDATE_OP_MOVE == op) {
+			Collections.sort(this.mPagePool, this.sPagePositionComparator);
+		}
+		this.mPositionPageIndex.clear();
+		for (int index = 0; index < this.mPagePool.size(); index++) {
+			final Page page = this.mPagePool.get(index);
+			this.mPositionPageIndex.put(page.position, page);
+		}
+		this.setCurrentItemInternal(nowCurrentPosition, false, true);
+		this.requestLayout();
+	}
+
+	int transformItemPosition(int op, int position, int positionStart, int itemCount) {
+		switch (op) {
+			case UPDATE_OP_ADD:
+				return position >= positionStart ? position + itemCount : position;
+			case UPDATE_OP_REMOVE:
+				if (position < positionStart) {
+					return position;
+				}
+				return position < positionStart + itemCount ? Adapter.POSITION_NONE : position - itemCount;
+			case UPDATE_OP_MOVE:
+				final int toPosition = itemCount;
+				if (position == positionStart) {
+					return toPosition;
+				}
+				if (positionStart < toPosition && position > positionStart && position <= toPosition) {
+					return position - 1;
+				}
+				if (positionStart > toPosition && position >= toPosition && position < positionStart) {
+					return position + 1;
+				}
+				return position;
+			default:
+				return position;
+		}
+	}
+
+	/**
+	 * Let populate() requery the weight and position of the page's child.
+	 */
+	private void invalidatePageWeight(@NonNull Page page) {
+		final View child = page.view;
+		if (child != null && child.getParent() == this) {
+			((LayoutParams) child.getLayoutParams()).weight = 0.f;
+			return;
+		}
+		for (int index = 0; index < this.getChildCount(); index++) {
+			final View preChildView = this.getChildAt(index);
+			final LayoutParams preLayoutParams = (LayoutParams) preChildView.getLayoutParams();
+			if (!preLayoutParams.isDecor && this.mAdapter.isViewFromObject(preChildView, page.object)) {
+				preLayoutParams.weight = 0.f;
+				return;
+			}
+		}
+	}
+
 	void populate() {
 		this.populate(this.mCurrentPosition);
 	}
 
 	void populate(int currentPosition) {
+		final PageFrameMetrics metrics = this.mPageFrameMetrics;
+		if (metrics == null) {
+			this.performPopulate(currentPosition);
+			return;
+		}
+		final long startNs = metrics.beginSection();
+		try {
+			this.performPopulate(currentPosition);
+		} finally {
+			metrics.populateNs += metrics.endSection(startNs);
+		}
+	}
+
+	private void performPopulate(int currentPosition) {
 		// set position
 		Page oldCurrentPage = null;
 		if (this.mCurrentPosition != currentPosition) {
@@ -2434,6 +2901,8 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 
 		if (currentPage == null && mItemCount > 0) {
 			currentPage = this.performOnCreatePage(currentPosition, currentIndex);
+		} else {
+			this.dispatchPagePrefetchHit(currentPage);
 		}
 
 		if (currentPage != null) {
@@ -2455,14 +2924,17 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 				// add page to left
 				if (nextPosition >= limitStartPosition) {
 					if (page != null && page.position == nextPosition) {
+						this.dispatchPagePrefetchHit(page);
 						nextIndex--;
 					} else {
+						this.dispatchPagePrefetchMiss(nextPosition == limitStartPosition);
 						this.performOnCreatePage(nextPosition, nextIndex + 1);
 						// pointer move for right
 						currentIndex++;
 					}
 				} else {
-					if (page == null || page.scrolling) {
+					if (page == null || page.scrolling
+							|| this.shouldKeepPrefetchedPage(page, currentPosition, pageLimit)) {
 						nextIndex--;
 					} else {
 						// scrolling not remove
@@ -2486,11 +2958,15 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 				// add page to right
 				if (nextPosition <= limitEndPosition) {
 					if (page == null || page.position != nextPosition) {
+						this.dispatchPagePrefetchMiss(nextPosition == limitEndPosition);
 						this.performOnCreatePage(nextPosition, nextIndex);
+					} else {
+						this.dispatchPagePrefetchHit(page);
 					}
 					nextIndex++;
 				} else {
-					if (page == null || page.scrolling) {
+					if (page == null || page.scrolling
+							|| this.shouldKeepPrefetchedPage(page, currentPosition, pageLimit)) {
 						nextIndex++;
 					} else {
 						// scrolling not remove
@@ -2507,7 +2983,7 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 			// calculate offset
 			this.calculatePageOffsets(currentPage, oldCurrentPage, currentIndex);
 			// preview item
-			this.mAdapter.onPrimaryItem(this, currentPage.object, this.adapterPositionForPosition(currentPosition));
+			this.mAdapter.onPrimaryItem(this, currentPage.object, currentPage.adapterPosition);
 		}
 		this.mAdapter.onFinishUpdate(this);
 
@@ -2545,6 +3021,247 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 		}
 	}
 
+	private boolean mPageCullingEnabled = false;
+	private PageOffsetTable mPageOffsetTable;
+	private PageFrameMetrics mPageFrameMetrics;
+	private OnPageFrameMetricsListener mOnPageFrameMetricsListener;
+	private long mLastSettlingFrameNs;
+
+	/**
+	 * Opt-in per frame timings of the pager's own work, see {@link PageFrameMetrics}. The
+	 * listener is called from {@link #draw(Canvas)} for every frame the pager worked in or
+	 * scrolled in. Timing is off while no listener is set.
+	 */
+	public void setOnPageFrameMetricsListener(@Nullable OnPageFrameMetricsListener listener) {
+		this.mOnPageFrameMetricsListener = listener;
+		if (listener == null) {
+			this.mPageFrameMetrics = null;
+		} else if (this.mPageFrameMetrics == null) {
+			this.mPageFrameMetrics = new PageFrameMetrics();
+		}
+		this.mLastSettlingFrameNs = 0;
+	}
+
+	private void dispatchPageFrameMetrics(@NonNull PageFrameMetrics metrics) {
+		final boolean settling = this.mScrollState == SCROLL_STATE_SETTLING;
+		if (metrics.workNs == 0 && this.mScrollState == SCROLL_STATE_IDLE) {
+			this.mLastSettlingFrameNs = 0;
+			return;
+		}
+		final long nowNs = System.nanoTime();
+		// only a settle draws every frame, a resting finger does not
+		metrics.frameIntervalNs = settling && this.mLastSettlingFrameNs != 0 ? nowNs - this.mLastSettlingFrameNs : 0;
+		this.mLastSettlingFrameNs = settling ? nowNs : 0;
+		metrics.frameBudgetNs = this.mFrameIntervalNs;
+		metrics.scrollState = this.mScrollState;
+		metrics.frameCount++;
+		if (metrics.isOverBudget()) {
+			metrics.overBudgetFrameCount++;
+		}
+		this.mOnPageFrameMetricsListener.onPageFrameMetrics(this, metrics);
+		metrics.resetFrame();
+	}
+
+	private boolean mPagePrefetchEnabled = false;
+	private boolean mPagePrefetchPosted = false;
+	private int mPagePrefetchDirection;
+	private long mFrameIntervalNs = TimeUnit.SECONDS.toNanos(1) / 60;
+	private long mPagePrefetchCreateNs;
+	private int mPagePrefetchCount;
+	private int mPagePrefetchHitCount;
+	private int mPagePrefetchMissCount;
+	private int mPagePrefetchSkipCount;
+
+	private final Runnable mPagePrefetchRunnable = new Runnable() {
+		@Override
+		public void run() {
+			ViewPagerCompat.this.mPagePrefetchPosted = false;
+			// The frame that triggered us has just been drawn, whatever is left of it is idle.
+			final long deadlineNs = TimeUnit.MILLISECONDS.toNanos(ViewPagerCompat.this.getDrawingTime())
+					+ ViewPagerCompat.this.mFrameIntervalNs;
+			ViewPagerCompat.this.performPagePrefetch(deadlineNs);
+		}
+	};
+
+	/**
+	 * Create and bind the page that will enter the offscreen limit next, in the direction of the
+	 * current drag or settle, during the idle time left of a frame instead of inside populate()
+	 * in the middle of a fling. The prefetched page is kept one page beyond the offscreen limit
+	 * until it is used or the pager moves away from it.
+	 */
+	public void setPagePrefetchEnabled(boolean enabled) {
+		if (this.mPagePrefetchEnabled != enabled) {
+			this.mPagePrefetchEnabled = enabled;
+			if (!enabled) {
+				this.removeCallbacks(this.mPagePrefetchRunnable);
+				this.mPagePrefetchPosted = false;
+			}
+		}
+	}
+
+	public boolean isPagePrefetchEnabled() {
+		return this.mPagePrefetchEnabled;
+	}
+
+	/**
+	 * @return number of pages created ahead of time in idle frame time.
+	 */
+	public int getPagePrefetchCount() {
+		return this.mPagePrefetchCount;
+	}
+
+	/**
+	 * @return number of prefetched pages that populate() found ready instead of creating them.
+	 */
+	public int getPagePrefetchHitCount() {
+		return this.mPagePrefetchHitCount;
+	}
+
+	/**
+	 * @return number of pages entering the offscreen limit that populate() had to create itself.
+	 */
+	public int getPagePrefetchMissCount() {
+		return this.mPagePrefetchMissCount;
+	}
+
+	/**
+	 * @return number of prefetches given up because they would not fit in the frame budget.
+	 */
+	public int getPagePrefetchSkipCount() {
+		return this.mPagePrefetchSkipCount;
+	}
+
+	public void resetPagePrefetchCounts() {
+		this.mPagePrefetchCount = 0;
+		this.mPagePrefetchHitCount = 0;
+		this.mPagePrefetchMissCount = 0;
+		this.mPagePrefetchSkipCount = 0;
+	}
+
+	private void schedulePagePrefetch(int scrollDelta) {
+		if (this.mPagePrefetchEnabled && scrollDelta != 0) {
+			this.mPagePrefetchDirection = scrollDelta > 0 ? 1 : -1;
+			if (!this.mPagePrefetchPosted) {
+				this.mPagePrefetchPosted = true;
+				this.post(this.mPagePrefetchRunnable);
+			}
+		}
+	}
+
+	void performPagePrefetch(long deadlineNs) {
+		if (!this.mPagePrefetchEnabled || this.mAdapter == null || this.mPopulatePending
+				|| this.mPagePool.isEmpty() || this.getWindowToken() == null) {
+			return;
+		}
+		final int itemCount = this.mAdapter.getItemCount();
+		if (itemCount != this.mExpectedItemCount) {
+			// notifyDataSetChanged pending
+			return;
+		}
+		final int position = this.mCurrentPosition + this.mPagePrefetchDirection * (this.mOffscreenPageLimit + 1);
+		if (!this.mIsScrollingLoop && (position < 0 || position >= itemCount)) {
+			return;
+		}
+		if (this.getPagerForPosition(position) != null) {
+			return;
+		}
+		final Page currentPage = this.getPagerForPosition(this.mCurrentPosition);
+		if (currentPage == null) {
+			return;
+		}
+		final long startNs = System.nanoTime();
+		if (this.mPagePrefetchCreateNs != 0 && startNs + this.mPagePrefetchCreateNs > deadlineNs) {
+			this.mPagePrefetchSkipCount++;
+			return;
+		}
+		try {
+			TraceCompat.beginSection("prefetchPage");
+			int index = 0;
+			while (index < this.mPagePool.size() && this.mPagePool.get(index).position < position) {
+				index++;
+			}
+			// Attach without a layout request, the page is measured and laid out below.
+			this.mInLayout = true;
+			final Page page;
+			try {
+				this.mAdapter.onStartUpdate(this);
+				page = this.performOnCreatePage(position, index);
+				page.prefetched = true;
+				this.mAdapter.onFinishUpdate(this);
+			} finally {
+				this.mInLayout = false;
+			}
+			this.calculatePageOffsets(currentPage, null, this.mPagePool.indexOf(currentPage));
+			this.layoutPrefetchedPage(page);
+		} finally {
+			TraceCompat.endSection();
+		}
+		this.mPagePrefetchCount++;
+		final long createNs = System.nanoTime() - startNs;
+		this.mPagePrefetchCreateNs = this.mPagePrefetchCreateNs == 0
+				? createNs : (this.mPagePrefetchCreateNs / 4 * 3 + createNs / 4);
+	}
+
+	private void layoutPrefetchedPage(@NonNull Page page) {
+		View pageView = null;
+		for (int index = 0; index < this.getChildCount(); index++) {
+			final View preChildView = this.getChildAt(index);
+			final LayoutParams preLayoutParams = (LayoutParams) preChildView.getLayoutParams();
+			preLayoutParams.childIndex = index;
+			if (pageView == null && !preLayoutParams.isDecor
+					&& this.mAdapter.isViewFromObject(preChildView, page.object)) {
+				pageView = preChildView;
+			}
+		}
+		if (pageView == null) {
+			// The page view is attached later (e.g. an asynchronous fragment commit).
+			this.requestLayout();
+			return;
+		}
+		final LayoutParams preLayoutParams = (LayoutParams) pageView.getLayoutParams();
+		preLayoutParams.weight = page.weight;
+		preLayoutParams.position = page.position;
+		preLayoutParams.needsMeasure = false;
+
+		final int clientWidth = this.getClientWidth();
+		final int clientHeight = this.getClientHeight();
+		int preChildLeft = this.mPageBoundsRect.left;
+		int preChildTop = this.mPageBoundsRect.top;
+		final int widthSpec;
+		final int heightSpec;
+		if (VERTICAL == this.mOrientation) {
+			preChildTop += (int) (clientHeight * page.offset);
+			widthSpec = MeasureSpec.makeMeasureSpec(clientWidth, MeasureSpec.EXACTLY);
+			heightSpec = MeasureSpec.makeMeasureSpec((int) (clientHeight * page.weight), MeasureSpec.EXACTLY);
+		} else {
+			preChildLeft += (int) (clientWidth * page.offset);
+			widthSpec = MeasureSpec.makeMeasureSpec((int) (clientWidth * page.weight), MeasureSpec.EXACTLY);
+			heightSpec = MeasureSpec.makeMeasureSpec(clientHeight, MeasureSpec.EXACTLY);
+		}
+		pageView.measure(widthSpec, heightSpec);
+		pageView.layout(preChildLeft, preChildTop,
+				preChildLeft + pageView.getMeasuredWidth(),
+				preChildTop + pageView.getMeasuredHeight());
+		this.sortChildDrawingOrder();
+	}
+
+	private boolean shouldKeepPrefetchedPage(@NonNull Page page, int currentPosition, int pageLimit) {
+		return page.prefetched && Math.abs(page.position - currentPosition) == pageLimit + 1;
+	}
+
+	private void dispatchPagePrefetchHit(@Nullable Page page) {
+		if (page != null && page.prefetched) {
+			page.prefetched = false;
+			this.mPagePrefetchHitCount++;
+		}
+	}
+
+	private void dispatchPagePrefetchMiss(boolean enteringPage) {
+		if (this.mPagePrefetchEnabled && enteringPage && !this.mFirstLayout) {
+			this.mPagePrefetchMissCount++;
+		}
+	}
+
 	void sortChildDrawingOrder() {
 		if (this.mDrawingOrder != DRAW_ORDER_DEFAULT) {
 			this.mDrawingOrderedChilds.clear();
@@ -2588,9 +3305,9 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 					while (position > page.position && nextIndex < size - 1) {
 						page = this.mPagePool.get(++nextIndex);
 					}
-					while (position < page.position) {
-						offset += this.mAdapter.getPageWeight(this.adapterPositionForPosition(position)) + marginOffset;
-						position++;
+					if (position < page.position) {
+						offset += this.getPagesSize(position, page.position, marginOffset);
+						position = page.position;
 					}
 					page.offset = offset;
 					offset += page.weight + marginOffset;
@@ -2602,9 +3319,9 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 					while (position < page.position && nextIndex > 0) {
 						page = this.mPagePool.get(--nextIndex);
 					}
-					while (position > page.position) {
-						offset -= this.mAdapter.getPageWeight(this.adapterPositionForPosition(position)) + marginOffset;
-						position--;
+					if (position > page.position) {
+						offset -= this.getPagesSize(page.position + 1, position + 1, marginOffset);
+						position = page.position;
 					}
 					offset -= page.weight + marginOffset;
 					page.offset = offset;
@@ -2629,9 +3346,9 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 		offset = nowOffset;
 		for (int index = curIndex - 1, position = nowPosition - 1; index >= 0; index--, position--) {
 			Page page = this.mPagePool.get(index);
-			while (position > page.position) {
-				offset -= this.mAdapter.getPageWeight(this.adapterPositionForPosition(position--)) + marginOffset;
-				position--;
+			if (position > page.position) {
+				offset -= this.getPagesSize(page.position + 1, position + 1, marginOffset);
+				position = page.position;
 			}
 			offset -= page.weight + marginOffset;
 			page.offset = offset;
@@ -2649,9 +3366,9 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 		offset = nowOffset + currentPage.weight + marginOffset;
 		for (int index = curIndex + 1, position = nowPosition + 1; index < size; index++, position++) {
 			Page page = this.mPagePool.get(index);
-			while (position < page.position) {
-				offset += this.mAdapter.getPageWeight(this.adapterPositionForPosition(position++)) + marginOffset;
-				position++;
+			if (position < page.position) {
+				offset += this.getPagesSize(position, page.position, marginOffset);
+				position = page.position;
 			}
 			if (this.mIsScrollingLoop) {
 				if (page.position - 1 == nowPosition) {
@@ -2673,6 +3390,47 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 		}
 	}
 
+	/**
+	 * Use a cached prefix sum of the page weights to measure the distance between far apart
+	 * pages, e.g. for {@link #setCurrentItem(int, boolean)} over a long strip of weighted pages,
+	 * in O(log n) instead of one {@link Adapter#getPageWeight(int)} call per page in between.
+	 * The table is rebuilt after every data set notification, weights must only depend on data.
+	 */
+	public void setPageOffsetTableEnabled(boolean enabled) {
+		if (enabled == (this.mPageOffsetTable != null)) {
+			return;
+		}
+		this.mPageOffsetTable = enabled ? new PageOffsetTable() : null;
+	}
+
+	public boolean isPageOffsetTableEnabled() {
+		return this.mPageOffsetTable != null;
+	}
+
+	private void invalidatePageOffsetTable() {
+		if (this.mPageOffsetTable != null) {
+			this.mPageOffsetTable.invalidate();
+		}
+	}
+
+	/**
+	 * @return size in offset units of the page positions [fromPosition, toPosition), margins included.
+	 */
+	float getPagesSize(int fromPosition, int toPosition, float marginOffset) {
+		if (toPosition <= fromPosition) {
+			return 0.F;
+		}
+		if (this.mPageOffsetTable != null) {
+			return this.mPageOffsetTable.getWeightSum(this.mAdapter, fromPosition, toPosition, this.mIsScrollingLoop)
+					+ (toPosition - fromPosition) * marginOffset;
+		}
+		float size = 0.F;
+		for (int position = fromPosition; position < toPosition; position++) {
+			size += this.mAdapter.getPageWeight(this.adapterPositionForPosition(position)) + marginOffset;
+		}
+		return size;
+	}
+
 	int adapterPositionForPosition(int position) {
 		if (this.mAdapter == null) {
 			return 0;
@@ -2699,13 +3457,21 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 		final int adapterPosition = this.adapterPositionForPosition(position);
 		final Page page = new Page();
 		page.position = position;
+		page.adapterPosition = adapterPosition;
 		page.weight = this.mAdapter.getPageWeight(adapterPosition);
+		final PageFrameMetrics metrics = this.mPageFrameMetrics;
+		final long startNs = metrics != null ? metrics.beginSection() : 0;
 		page.object = this.mAdapter.onCreateItem(this, adapterPosition, position);
+		if (metrics != null) {
+			metrics.createItemNs += metrics.endSection(startNs);
+			metrics.createItemCount++;
+		}
 		if (index < 0 || index >= this.mPagePool.size()) {
 			this.mPagePool.add(page);
 		} else {
 			this.mPagePool.add(index, page);
 		}
+		this.mPositionPageIndex.put(position, page);
 		return page;
 	}
 
@@ -2713,7 +3479,14 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 	Page performOnRemovePage(int index) {
 		if (index >= 0 && index < this.mPagePool.size()) {
 			final Page page = this.mPagePool.remove(index);
-			this.mAdapter.onDestroyItem(this, page.object, this.adapterPositionForPosition(page.position));
+			this.removePageIndex(page);
+			final PageFrameMetrics metrics = this.mPageFrameMetrics;
+			final long startNs = metrics != null ? metrics.beginSection() : 0;
+			this.mAdapter.onDestroyItem(this, page.object, page.adapterPosition);
+			if (metrics != null) {
+				metrics.destroyItemNs += metrics.endSection(startNs);
+				metrics.destroyItemCount++;
+			}
 			return page;
 		}
 		return null;
@@ -2721,9 +3494,18 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 
 	@Nullable
 	Page getPagerForChild(@NonNull View child) {
+		Page page = this.mChildPageIndex.get(child);
+		if (page != null && this.mAdapter.isViewFromObject(child, page.object)) {
+			return page;
+		}
 		for (int index = 0; index < this.mPagePool.size(); index++) {
-			final Page page = this.mPagePool.get(index);
+			page = this.mPagePool.get(index);
 			if (this.mAdapter.isViewFromObject(child, page.object)) {
+				if (page.view != null) {
+					this.mChildPageIndex.remove(page.view);
+				}
+				page.view = child;
+				this.mChildPageIndex.put(child, page);
 				return page;
 			}
 		}
@@ -2744,13 +3526,24 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 
 	@Nullable
 	Page getPagerForPosition(int position) {
-		for (int index = 0; index < this.mPagePool.size(); index++) {
-			final Page page = this.mPagePool.get(index);
-			if (page.position == position) {
-				return page;
+		return this.mPositionPageIndex.get(position);
+	}
+
+	private void removePageIndex(@NonNull Page page) {
+		if (this.mPositionPageIndex.get(page.position) == page) {
+			this.mPositionPageIndex.remove(page.position);
+		}
+		if (page.view != null) {
+			if (this.mChildPageIndex.get(page.view) == page) {
+				this.mChildPageIndex.remove(page.view);
 			}
+			page.view = null;
 		}
-		return null;
+	}
+
+	private void clearPageIndex() {
+		this.mPositionPageIndex.clear();
+		this.mChildPageIndex.clear();
 	}
 
 	Page getPagerForCurrentScrollPosition() {
@@ -2780,11 +3573,29 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 			Page page = this.mPagePool.get(index);
 
 			if (!shouldFirst && page.position != lastPosition + 1) {
+				int position = lastPosition + 1;
+				float positionOffset = lastOffset + lastPageWeight + marginOffset;
+				if (this.mPageOffsetTable != null && scrollOffset >= positionOffset && page.position - position > 1) {
+					// Jump to the last missing page that starts before the scroll offset.
+					final int firstPosition = position;
+					int high = page.position - 1;
+					while (position < high) {
+						// positions are negative while scrolling loop, halve the distance instead of the sum
+						final int middle = position + ((high - position + 1) >>> 1);
+						if (positionOffset + this.getPagesSize(firstPosition, middle, marginOffset) <= scrollOffset) {
+							position = middle;
+						} else {
+							high = middle - 1;
+						}
+					}
+					positionOffset += this.getPagesSize(firstPosition, position, marginOffset);
+				}
 				// Create a synthetic item for a missing page.
 				page = this.mTempPage;
-				page.offset = lastOffset + lastPageWeight + marginOffset;
-				page.position = lastPosition + 1;
-				page.weight = this.mAdapter.getPageWeight(this.adapterPositionForPosition(page.position));
+				page.offset = positionOffset;
+				page.position = position;
+				page.adapterPosition = this.adapterPositionForPosition(page.position);
+				page.weight = this.mAdapter.getPageWeight(page.adapterPosition);
 				index--;
 			}
 			final float offset = page.offset;
@@ -2856,6 +3667,16 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 
 		float weight = INVALID_WEIGHT;
 
+		/**
+		 * The pager gave this page a layer for a transform, so it is the one to take it away.
+		 */
+		boolean layerPromoted;
+
+		/**
+		 * The pager made this page invisible because it is outside of the viewport.
+		 */
+		boolean culled;
+
 		public LayoutParams() {
 			super(MATCH_PARENT, MATCH_PARENT);
 		}
@@ -2903,7 +3724,7 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 
 		private final DataSetObservable mObservable = new DataSetObservable();
 
-		private DataSetObserver mViewPagerObserver;
+		private PagerObserver mViewPagerObserver;
 
 		public final void registerDataSetObserver(@NonNull DataSetObserver observer) {
 			this.mObservable.registerObserver(observer);
@@ -2922,6 +3743,82 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 			this.mObservable.notifyChanged();
 		}
 
+		/**
+		 * Rebinds the live page of the given position without touching the other pages,
+		 * see {@link #onRebindItem(ViewGroup, Object, int, Object)}.
+		 */
+		public final void notifyItemChanged(int position) {
+			this.notifyItemRangeChanged(position, 1, null);
+		}
+
+		/**
+		 * Like {@link #notifyItemChanged(int)}, the payload is handed to the live page so that it
+		 * can update only what changed, e.g. a counter, instead of binding everything again.
+		 */
+		public final void notifyItemChanged(int position, @Nullable Object payload) {
+			this.notifyItemRangeChanged(position, 1, payload);
+		}
+
+		public final void notifyItemRangeChanged(int positionStart, int itemCount) {
+			this.notifyItemRangeChanged(positionStart, itemCount, null);
+		}
+
+		/**
+		 * Registered observers, e.g. tabs and indicators, are not notified since the item count
+		 * did not change, call {@link #notifyDataSetChanged()} if they show the changed items.
+		 */
+		public final void notifyItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+			synchronized (this) {
+				if (this.mViewPagerObserver != null) {
+					this.mViewPagerObserver.onItemRangeChanged(positionStart, itemCount, payload);
+				}
+			}
+		}
+
+		public final void notifyItemInserted(int position) {
+			this.notifyItemRangeInserted(position, 1);
+		}
+
+		/**
+		 * Keeps every live page and only shifts the positions behind the inserted range, unlike
+		 * {@link #notifyDataSetChanged()} which asks {@link #getItemPosition(ViewGroup, Object)}
+		 * about every page. Not incremental while scrolling loop.
+		 */
+		public final void notifyItemRangeInserted(int positionStart, int itemCount) {
+			synchronized (this) {
+				if (this.mViewPagerObserver != null) {
+					this.mViewPagerObserver.onItemRangeUpdated(UPDATE_OP_ADD, positionStart, itemCount);
+				}
+			}
+			this.mObservable.notifyChanged();
+		}
+
+		public final void notifyItemRemoved(int position) {
+			this.notifyItemRangeRemoved(position, 1);
+		}
+
+		public final void notifyItemRangeRemoved(int positionStart, int itemCount) {
+			synchronized (this) {
+				if (this.mViewPagerObserver != null) {
+					this.mViewPagerObserver.onItemRangeUpdated(UPDATE_OP_REMOVE, positionStart, itemCount);
+				}
+			}
+			this.mObservable.notifyChanged();
+		}
+
+		/**
+		 * Unlike {@link #notifyItemRangeChanged(int, int, Object)}, registered observers are
+		 * notified: tabs are titled by index and have to follow the moved page.
+		 */
+		public final void notifyItemMoved(int fromPosition, int toPosition) {
+			synchronized (this) {
+				if (this.mViewPagerObserver != null) {
+					this.mViewPagerObserver.onItemRangeUpdated(UPDATE_OP_MOVE, fromPosition, toPosition);
+				}
+			}
+			this.mObservable.notifyChanged();
+		}
+
 		@CallSuper
 		public void onAttachedToWindow(@NonNull ViewGroup container) {
 			// NO-OP
@@ -2989,6 +3886,34 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 			return POSITION_UNCHANGED;
 		}
 
+		/**
+		 * Called for a live page after {@link #notifyItemChanged(int)}. Returning false destroys
+		 * and recreates the page, which is also the default.
+		 *
+		 * @param payload the payload of {@link #notifyItemChanged(int, Object)}, null for a full rebind.
+		 * @return true if the object was updated in place for its new data.
+		 */
+		public boolean onRebindItem(@NonNull ViewGroup container, @NonNull Object object, int position, @Nullable Object payload) {
+			return false;
+		}
+
+		/**
+		 * Called for a live page whose position was shifted by an insert, remove or move.
+		 */
+		public void onItemPositionChanged(@NonNull ViewGroup container, @NonNull Object object, int oldPosition, int newPosition) {
+			// NO-OP
+		}
+
+		/**
+		 * Whether the live pages of a resting scrolling loop may be shifted back to [0, itemCount)
+		 * in place. Their adapter positions stay the same, only the page positions passed to
+		 * {@link #onCreateItem(ViewGroup, int, int)} move. Return false if objects are keyed on
+		 * the page position, the pages are then recreated at the current item instead.
+		 */
+		public boolean canRebaseScrollingLoop() {
+			return true;
+		}
+
 		/**
 		 * This method may be called by the ViewPagerCompat to obtain a title string
 		 * to describe the specified page. This method may return null
@@ -3014,7 +3939,7 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 			return 1.f;
 		}
 
-		final void setViewPagerObserver(@Nullable DataSetObserver observer) {
+		final void setViewPagerObserver(@Nullable PagerObserver observer) {
 			synchronized (this) {
 				this.mViewPagerObserver = observer;
 			}
@@ -3023,10 +3948,176 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 
 	final class Page {
 		Object object;
+		/**
+		 * {@link #adapterPositionForPosition(int)} of {@link #position}, cached for the page's life.
+		 */
+		int adapterPosition;
+		/**
+		 * Child of the pager matched to {@link #object} by the adapter, once looked up.
+		 */
+		View view;
 		int position;
 		float offset;
 		float weight;
 		boolean scrolling;
+		boolean prefetched;
+	}
+
+	/**
+	 * Timings of one frame, in nanoseconds. Section times are inclusive: populate includes the
+	 * pages it created and destroyed, computeScroll includes the dispatch and transforms of the
+	 * settle. The instance is reused, read it inside the callback only.
+	 */
+	public static final class PageFrameMetrics {
+
+		private int mDepth;
+
+		long workNs;
+		long computeScrollNs;
+		long populateNs;
+		long createItemNs;
+		int createItemCount;
+		long destroyItemNs;
+		int destroyItemCount;
+		long transformPageNs;
+		long pageScrolledNs;
+		long frameIntervalNs;
+		long frameBudgetNs;
+		int scrollState;
+		long frameCount;
+		long overBudgetFrameCount;
+
+		long beginSection() {
+			this.mDepth++;
+			return System.nanoTime();
+		}
+
+		long endSection(long startNs) {
+			final long durationNs = System.nanoTime() - startNs;
+			if (--this.mDepth == 0) {
+				this.workNs += durationNs;
+			}
+			return durationNs;
+		}
+
+		void resetFrame() {
+			this.workNs = 0;
+			this.computeScrollNs = 0;
+			this.populateNs = 0;
+			this.createItemNs = 0;
+			this.createItemCount = 0;
+			this.destroyItemNs = 0;
+			this.destroyItemCount = 0;
+			this.transformPageNs = 0;
+			this.pageScrolledNs = 0;
+		}
+
+		/**
+		 * @return total time spent in the pager's sections this frame, without double counting.
+		 */
+		public long getWorkNs() {
+			return this.workNs;
+		}
+
+		public long getComputeScrollNs() {
+			return this.computeScrollNs;
+		}
+
+		public long getPopulateNs() {
+			return this.populateNs;
+		}
+
+		/**
+		 * @return time spent in {@link Adapter#onCreateItem(ViewGroup, int, int)}.
+		 */
+		public long getCreateItemNs() {
+			return this.createItemNs;
+		}
+
+		public int getCreateItemCount() {
+			return this.createItemCount;
+		}
+
+		/**
+		 * @return time spent in {@link Adapter#onDestroyItem(ViewGroup, Object, int)}.
+		 */
+		public long getDestroyItemNs() {
+			return this.destroyItemNs;
+		}
+
+		public int getDestroyItemCount() {
+			return this.destroyItemCount;
+		}
+
+		/**
+		 * @return time spent in {@link PageTransformer#transformPage(View, float)}.
+		 */
+		public long getTransformPageNs() {
+			return this.transformPageNs;
+		}
+
+		/**
+		 * @return time spent in {@link OnPageChangeListener#onPageScrolled(int, float, int)}.
+		 */
+		public long getPageScrolledNs() {
+			return this.pageScrolledNs;
+		}
+
+		/**
+		 * @return time since the previous frame of a settle, 0 if not settling or the first frame.
+		 */
+		public long getFrameIntervalNs() {
+			return this.frameIntervalNs;
+		}
+
+		public long getFrameBudgetNs() {
+			return this.frameBudgetNs;
+		}
+
+		public int getScrollState() {
+			return this.scrollState;
+		}
+
+		/**
+		 * @return true if the pager alone used up the frame, or a settle missed a vsync.
+		 */
+		public boolean isOverBudget() {
+			return this.workNs > this.frameBudgetNs
+					|| this.frameIntervalNs > this.frameBudgetNs + this.frameBudgetNs / 2;
+		}
+
+		/**
+		 * @return number of frames reported since the listener was set.
+		 */
+		public long getFrameCount() {
+			return this.frameCount;
+		}
+
+		public long getOverBudgetFrameCount() {
+			return this.overBudgetFrameCount;
+		}
+
+		@NonNull
+		@Override
+		public String toString() {
+			return "Work : " + this.workNs
+					+ " ComputeScroll : " + this.computeScrollNs
+					+ " Populate : " + this.populateNs
+					+ " Create : " + this.createItemNs + "/" + this.createItemCount
+					+ " Destroy : " + this.destroyItemNs + "/" + this.destroyItemCount
+					+ " Transform : " + this.transformPageNs
+					+ " PageScrolled : " + this.pageScrolledNs
+					+ " Interval : " + this.frameIntervalNs + "/" + this.frameBudgetNs
+					+ " OverBudget : " + this.overBudgetFrameCount + "/" + this.frameCount;
+		}
+	}
+
+	public interface OnPageFrameMetricsListener {
+		/**
+		 * Called on the main thread once per reported frame, see
+		 * {@link ViewPagerCompat#setOnPageFrameMetricsListener(OnPageFrameMetricsListener)}.
+		 */
+		void onPageFrameMetrics(@NonNull ViewPagerCompat container, @NonNull PageFrameMetrics metrics);
 	}
 
 	public interface PageTransformer {
@@ -3227,6 +4318,14 @@ public class ViewPagerCompat extends ViewGroup implements NestedScrollingChild {
 		public void onInvalidated() {
 			dataSetChanged();
 		}
+
+		void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+			itemRangeChanged(positionStart, itemCount, payload);
+		}
+
+		void onItemRangeUpdated(int op, int positionStart, int itemCount) {
+			itemRangeUpdated(op, positionStart, itemCount);
+		}
 	}
 
 	final class AccessibilityDelegate extends AccessibilityDelegateCompat {
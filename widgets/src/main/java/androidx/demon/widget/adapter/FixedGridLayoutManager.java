@@ -3,6 +3,7 @@ package androidx.demon.widget.adapter;
 import android.content.Context;
 import android.graphics.Rect;
 import android.util.AttributeSet;
+import android.util.SparseIntArray;
 import android.view.View;
 import android.view.ViewGroup;
 
@@ -20,6 +21,7 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 
 	private final LayoutState mLayoutState =
 			new LayoutState();
+	private final Rect mDecorInsets = new Rect();
 
 	private SpanSizeLookup mSpanSizeLookup =
 			new DefaultSpanSizeLookup();
@@ -27,6 +29,12 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 			OrientationHelper.createVerticalHelper(this);
 	private int mSpanCount = 1;
 
+	private boolean mViewportLayoutEnabled;
+	private boolean mIsViewportLayout;
+	private int mExtraLayoutSpace;
+	private int mPendingScrollPosition = RecyclerView.NO_POSITION;
+	private boolean mMeasureSkipEnabled;
+
 	public FixedGridLayoutManager() {
 		this(1);
 	}
@@ -145,6 +153,11 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 	 */
 	@Override
 	public void setMeasuredDimension(Rect childrenBounds, int wSpec, int hSpec) {
+		if (this.mIsViewportLayout) {
+			// the height is fixed, only the visible rows are attached
+			super.setMeasuredDimension(childrenBounds, wSpec, hSpec);
+			return;
+		}
 		if (this.mCachedBorders == null) {
 			super.setMeasuredDimension(childrenBounds, wSpec, hSpec);
 		}
@@ -208,11 +221,79 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 			this.removeAndRecycleAllViews(recycler);
 			return;
 		}
+		final boolean wasViewportLayout = this.mIsViewportLayout;
+		this.mIsViewportLayout = this.mViewportLayoutEnabled
+				&& this.getHeightMode() == View.MeasureSpec.EXACTLY;
+		if (this.mIsViewportLayout) {
+			// the anchor must be read before the children are scrapped
+			this.updateAnchor(state, wasViewportLayout);
+		}
 		this.detachAndScrapAttachedViews(recycler);
 		this.onAnchorReady(recycler, state);
 		this.layoutChunk(recycler, state);
 	}
 
+	@Override
+	public void onLayoutCompleted(RecyclerView.State state) {
+		super.onLayoutCompleted(state);
+		this.mPendingScrollPosition = RecyclerView.NO_POSITION;
+	}
+
+	@Override
+	public boolean canScrollVertically() {
+		return this.mIsViewportLayout;
+	}
+
+	@Override
+	public int scrollVerticallyBy(int dy, RecyclerView.Recycler recycler, RecyclerView.State state) {
+		if (!this.mIsViewportLayout) {
+			return 0;
+		}
+		return this.scrollBy(dy, recycler, state);
+	}
+
+	@Override
+	public void scrollToPosition(int position) {
+		this.mPendingScrollPosition = position;
+		this.requestLayout();
+	}
+
+	@Override
+	public void onAdapterChanged(RecyclerView.Adapter oldAdapter, RecyclerView.Adapter newAdapter) {
+		this.invalidateSpanCaches();
+	}
+
+	@Override
+	public void onItemsChanged(@NonNull RecyclerView recyclerView) {
+		this.invalidateSpanCaches();
+	}
+
+	@Override
+	public void onItemsAdded(@NonNull RecyclerView recyclerView, int positionStart, int itemCount) {
+		this.invalidateSpanCaches();
+	}
+
+	@Override
+	public void onItemsRemoved(@NonNull RecyclerView recyclerView, int positionStart, int itemCount) {
+		this.invalidateSpanCaches();
+	}
+
+	@Override
+	public void onItemsUpdated(@NonNull RecyclerView recyclerView, int positionStart, int itemCount,
+							   Object payload) {
+		this.invalidateSpanCaches();
+	}
+
+	@Override
+	public void onItemsMoved(@NonNull RecyclerView recyclerView, int from, int to, int itemCount) {
+		this.invalidateSpanCaches();
+	}
+
+	private void invalidateSpanCaches() {
+		this.mSpanSizeLookup.invalidateSpanIndexCache();
+		this.mSpanSizeLookup.invalidateSpanGroupIndexCache();
+	}
+
 	private View[] mSet;
 	private int[] mCachedBorders;
 
@@ -223,11 +304,40 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 		this.updateMeasurements();
 	}
 
+	private void updateAnchor(RecyclerView.State state, boolean wasViewportLayout) {
+		final LayoutState layoutState = this.mLayoutState;
+		layoutState.mAnchorPosition = 0;
+		layoutState.mAnchorOffset = this.mOrientationHelper.getStartAfterPadding();
+		final int itemCount = state.getItemCount();
+		if (this.mPendingScrollPosition >= 0 && this.mPendingScrollPosition < itemCount) {
+			layoutState.mAnchorPosition = this.mPendingScrollPosition;
+			return;
+		}
+		if (!wasViewportLayout) {
+			// the rows of the wrap layout do not start at the padding, start over from the top
+			return;
+		}
+		for (int index = 0; index < this.getChildCount(); index++) {
+			final View child = this.getChildAt(index);
+			final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+			if (lp.isItemRemoved() || lp.getViewLayoutPosition() >= itemCount) {
+				continue;
+			}
+			layoutState.mAnchorPosition = lp.getViewLayoutPosition();
+			layoutState.mAnchorOffset = this.mOrientationHelper.getDecoratedStart(child);
+			return;
+		}
+	}
+
 	private void layoutChunk(RecyclerView.Recycler recycler, RecyclerView.State state) {
 		this.detachAndScrapAttachedViews(recycler);
 
 		final LayoutState layoutState = this.mLayoutState;
 		layoutState.resetInternal();
+		if (this.mIsViewportLayout) {
+			this.layoutViewport(recycler, state, layoutState);
+			return;
+		}
 		// Row count is one more than the last item's row index.
 		int rowItemCount = this.getSpanGroupIndex(recycler, state, state.getItemCount() - 1) + 1;
 		for (int rowIndex = 0; rowIndex < rowItemCount; rowIndex++) {
@@ -235,6 +345,106 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 		}
 	}
 
+	private void layoutViewport(RecyclerView.Recycler recycler, RecyclerView.State state, LayoutState layoutState) {
+		final int rowStartPosition = this.findRowStartPosition(recycler, state, layoutState.mAnchorPosition);
+		layoutState.mCurrentPosition = rowStartPosition;
+		layoutState.mLayoutOffset = layoutState.mAnchorOffset;
+		this.fillEnd(recycler, state, layoutState,
+				this.mOrientationHelper.getEndAfterPadding() + this.mExtraLayoutSpace);
+		layoutState.mCurrentPosition = rowStartPosition;
+		layoutState.mLayoutOffset = layoutState.mAnchorOffset;
+		this.fillStart(recycler, state, layoutState,
+				this.mOrientationHelper.getStartAfterPadding() - this.mExtraLayoutSpace);
+		if (this.getChildCount() == 0) {
+			return;
+		}
+
+		// close the gaps left by removed items or by scrolling to one of the last positions
+		final View firstChild = this.getChildAt(0);
+		final int startGap = this.mOrientationHelper.getDecoratedStart(firstChild)
+				- this.mOrientationHelper.getStartAfterPadding();
+		if (startGap > 0 && this.getPosition(firstChild) == 0) {
+			// the first row always sticks to the top, even if the content is shorter than the viewport
+			this.offsetChildrenVertical(-startGap);
+			final View lastChild = this.getChildAt(this.getChildCount() - 1);
+			layoutState.mCurrentPosition = this.getPosition(lastChild) + 1;
+			layoutState.mLayoutOffset = this.mOrientationHelper.getDecoratedEnd(lastChild);
+			this.fillEnd(recycler, state, layoutState,
+					this.mOrientationHelper.getEndAfterPadding() + this.mExtraLayoutSpace);
+		}
+		final View lastChild = this.getChildAt(this.getChildCount() - 1);
+		final int endGap = this.mOrientationHelper.getEndAfterPadding()
+				- this.mOrientationHelper.getDecoratedEnd(lastChild);
+		if (endGap > 0 && this.getPosition(lastChild) == state.getItemCount() - 1) {
+			this.scrollBy(-endGap, recycler, state);
+		}
+	}
+
+	private int scrollBy(int dy, RecyclerView.Recycler recycler, RecyclerView.State state) {
+		if (this.getChildCount() == 0 || dy == 0) {
+			return 0;
+		}
+		final LayoutState layoutState = this.mLayoutState;
+		final int scrolled;
+		if (dy > 0) {
+			final View lastChild = this.getChildAt(this.getChildCount() - 1);
+			layoutState.mCurrentPosition = this.getPosition(lastChild) + 1;
+			layoutState.mLayoutOffset = this.mOrientationHelper.getDecoratedEnd(lastChild);
+			this.fillEnd(recycler, state, layoutState,
+					this.mOrientationHelper.getEndAfterPadding() + dy + this.mExtraLayoutSpace);
+			scrolled = Math.min(dy, Math.max(0, layoutState.mLayoutOffset
+					- this.mOrientationHelper.getEndAfterPadding()));
+		} else {
+			final View firstChild = this.getChildAt(0);
+			layoutState.mCurrentPosition = this.getPosition(firstChild);
+			layoutState.mLayoutOffset = this.mOrientationHelper.getDecoratedStart(firstChild);
+			this.fillStart(recycler, state, layoutState,
+					this.mOrientationHelper.getStartAfterPadding() + dy - this.mExtraLayoutSpace);
+			scrolled = Math.max(dy, -Math.max(0, this.mOrientationHelper.getStartAfterPadding()
+					- layoutState.mLayoutOffset));
+		}
+		this.offsetChildrenVertical(-scrolled);
+		this.recycleOutOfViewport(recycler);
+		return scrolled;
+	}
+
+	private void fillEnd(RecyclerView.Recycler recycler, RecyclerView.State state, LayoutState layoutState, int limit) {
+		layoutState.mLayoutDirection = LayoutState.LAYOUT_END;
+		while (layoutState.mLayoutOffset < limit && layoutState.hasMore(state)) {
+			this.layoutRowChunk(recycler, state, layoutState);
+		}
+	}
+
+	private void fillStart(RecyclerView.Recycler recycler, RecyclerView.State state, LayoutState layoutState, int limit) {
+		layoutState.mLayoutDirection = LayoutState.LAYOUT_START;
+		while (layoutState.mLayoutOffset > limit && layoutState.mCurrentPosition > 0) {
+			final int rowStartPosition = this.findRowStartPosition(recycler, state, layoutState.mCurrentPosition - 1);
+			layoutState.mCurrentPosition = rowStartPosition;
+			this.layoutRowChunk(recycler, state, layoutState);
+			layoutState.mCurrentPosition = rowStartPosition;
+		}
+	}
+
+	private void recycleOutOfViewport(RecyclerView.Recycler recycler) {
+		final int start = this.mOrientationHelper.getStartAfterPadding() - this.mExtraLayoutSpace;
+		final int end = this.mOrientationHelper.getEndAfterPadding() + this.mExtraLayoutSpace;
+		for (int index = this.getChildCount() - 1; index >= 0; index--) {
+			final View child = this.getChildAt(index);
+			if (this.mOrientationHelper.getDecoratedEnd(child) <= start
+					|| this.mOrientationHelper.getDecoratedStart(child) >= end) {
+				this.removeAndRecycleViewAt(index, recycler);
+			}
+		}
+	}
+
+	private int findRowStartPosition(RecyclerView.Recycler recycler, RecyclerView.State state, int position) {
+		int rowStartPosition = Math.min(position, state.getItemCount() - 1);
+		while (rowStartPosition > 0 && this.getSpanIndex(recycler, state, rowStartPosition) != 0) {
+			rowStartPosition--;
+		}
+		return Math.max(rowStartPosition, 0);
+	}
+
 	private void layoutRowChunk(RecyclerView.Recycler recycler, RecyclerView.State state, LayoutState layoutState) {
 		final int currentOtherDirSize = this.getChildCount() > 0 ? this.mCachedBorders[this.mSpanCount] : 0;
 
@@ -271,10 +481,15 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 
 		int maxSize = 0;
 		float maxSizeInOther = 0;
+		final boolean layoutToStart = layoutState.mLayoutDirection == LayoutState.LAYOUT_START;
 		for (int position = 0; position < colItemCount; position++) {
 			final View child = this.mSet[position];
 			// add
-			this.addView(child);
+			if (layoutToStart) {
+				this.addView(child, position);
+			} else {
+				this.addView(child);
+			}
 			// measure
 			this.measureChild(child, this.mOrientationHelper.getModeInOther(), false);
 
@@ -301,7 +516,7 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 		for (int position = 0; position < colItemCount; position++) {
 			final View child = this.mSet[position];
 			if (this.mOrientationHelper.getDecoratedMeasurement(child) != maxSize) {
-				final Rect mDecorInsets = new Rect();
+				final Rect mDecorInsets = this.mDecorInsets;
 				this.calculateItemDecorationsForChild(child, mDecorInsets);
 				final LayoutParams lp = (LayoutParams) child.getLayoutParams();
 				final int verticalInsets = mDecorInsets.top + mDecorInsets.bottom
@@ -316,8 +531,13 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 		}
 
 		int left = 0, right = 0, top = 0, bottom = 0;
-		top = layoutState.mLayoutOffset;
-		bottom = top + maxSize;
+		if (layoutToStart) {
+			bottom = layoutState.mLayoutOffset;
+			top = bottom - maxSize;
+		} else {
+			top = layoutState.mLayoutOffset;
+			bottom = top + maxSize;
+		}
 		for (int position = 0; position < colItemCount; position++) {
 			final View child = this.mSet[position];
 			final LayoutParams lp = (LayoutParams) child.getLayoutParams();
@@ -325,7 +545,7 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 			right = left + this.mOrientationHelper.getDecoratedMeasurementInOther(child);
 			this.layoutDecoratedWithMargins(child, left, top, right, bottom);
 		}
-		layoutState.mLayoutOffset += maxSize;
+		layoutState.mLayoutOffset += layoutToStart ? -maxSize : maxSize;
 	}
 
 	private int getSpanSize(RecyclerView.Recycler recycler, RecyclerView.State state, int position) {
@@ -341,24 +561,24 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 
 	private int getSpanIndex(RecyclerView.Recycler recycler, RecyclerView.State state, int position) {
 		if (!state.isPreLayout()) {
-			return this.mSpanSizeLookup.getSpanIndex(position, this.mSpanCount);
+			return this.mSpanSizeLookup.getCachedSpanIndex(position, this.mSpanCount);
 		}
 		final int adapterPosition = recycler.convertPreLayoutPositionToPostLayout(position);
 		if (adapterPosition == -1) {
 			return 0;
 		}
-		return this.mSpanSizeLookup.getSpanIndex(adapterPosition, this.mSpanCount);
+		return this.mSpanSizeLookup.getCachedSpanIndex(adapterPosition, this.mSpanCount);
 	}
 
 	private int getSpanGroupIndex(RecyclerView.Recycler recycler, RecyclerView.State state, int position) {
 		if (!state.isPreLayout()) {
-			return this.mSpanSizeLookup.getSpanGroupIndex(position, this.mSpanCount);
+			return this.mSpanSizeLookup.getCachedSpanGroupIndex(position, this.mSpanCount);
 		}
 		final int adapterPosition = recycler.convertPreLayoutPositionToPostLayout(position);
 		if (adapterPosition == -1) {
 			return 0;
 		}
-		return this.mSpanSizeLookup.getSpanGroupIndex(adapterPosition, this.mSpanCount);
+		return this.mSpanSizeLookup.getCachedSpanGroupIndex(adapterPosition, this.mSpanCount);
 	}
 
 	private int getSpaceForSpanRange(int spanIndex, int spanSize) {
@@ -377,12 +597,12 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 	}
 
 	private void calculateItemBorders(int totalSpace) {
-		this.mCachedBorders = this.calculateItemBorders(this.mCachedBorders, this.mSpanCount, totalSpace);
+		this.mCachedBorders = calculateItemBorders(this.mCachedBorders, this.mSpanCount, totalSpace);
 	}
 
-	private int[] calculateItemBorders(int[] cachedBorders, int spanCount, int totalSpace) {
-		if (cachedBorders == null || cachedBorders.length != spanCount + 1
-				|| cachedBorders[cachedBorders.length - 1] != totalSpace) {
+	static int[] calculateItemBorders(int[] cachedBorders, int spanCount, int totalSpace) {
+		// every border is rewritten below, only a span count change needs a new array
+		if (cachedBorders == null || cachedBorders.length != spanCount + 1) {
 			cachedBorders = new int[spanCount + 1];
 		}
 		cachedBorders[0] = 0;
@@ -404,7 +624,7 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 	}
 
 	private void measureChild(View child, int otherDirParentSpecMode, boolean alreadyMeasured) {
-		final Rect mDecorInsets = new Rect();
+		final Rect mDecorInsets = this.mDecorInsets;
 		this.calculateItemDecorationsForChild(child, mDecorInsets);
 		final LayoutParams lp = (LayoutParams) child.getLayoutParams();
 		final int verticalInsets = mDecorInsets.top + mDecorInsets.bottom
@@ -430,6 +650,8 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 		if (measure) {
 			child.measure(widthSpec, heightSpec);
 		}
+		layoutParams.mMeasuredSpanSize = layoutParams.mSpanSize;
+		layoutParams.mMeasuredWidthSpec = widthSpec;
 	}
 
 	private boolean shouldReMeasureChild(View child, int widthSpec, int heightSpec, LayoutParams layoutParams) {
@@ -439,12 +661,18 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 	}
 
 	private boolean shouldMeasureChild(View child, int widthSpec, int heightSpec, LayoutParams layoutParams) {
-		return child.isLayoutRequested()
+		return (child.isLayoutRequested() && !this.canSkipMeasure(widthSpec, layoutParams))
 				|| !this.isMeasurementCacheEnabled()
 				|| !this.isMeasurementUpToDate(child.getWidth(), widthSpec, layoutParams.width)
 				|| !this.isMeasurementUpToDate(child.getHeight(), heightSpec, layoutParams.height);
 	}
 
+	private boolean canSkipMeasure(int widthSpec, LayoutParams layoutParams) {
+		return this.mMeasureSkipEnabled
+				&& layoutParams.mMeasuredSpanSize == layoutParams.mSpanSize
+				&& layoutParams.mMeasuredWidthSpec == widthSpec;
+	}
+
 	private boolean isMeasurementUpToDate(int childSize, int spec, int dimension) {
 		final int specMode = View.MeasureSpec.getMode(spec);
 		final int specSize = View.MeasureSpec.getSize(spec);
@@ -463,7 +691,7 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 	}
 
 	public int getSpanIndex(int position) {
-		return this.mSpanSizeLookup.getSpanIndex(position, this.mSpanCount);
+		return this.mSpanSizeLookup.getCachedSpanIndex(position, this.mSpanCount);
 	}
 
 	public int getLastSpanIndex() {
@@ -471,20 +699,21 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 	}
 
 	public int getSpanGroupIndex(int position) {
-		return this.mSpanSizeLookup.getSpanGroupIndex(position, this.mSpanCount);
+		return this.mSpanSizeLookup.getCachedSpanGroupIndex(position, this.mSpanCount);
 	}
 
 	public int getLastSpanGroupIndex() {
-		return this.mSpanSizeLookup.getSpanGroupIndex(this.getItemCount() - 1, this.mSpanCount);
+		return this.mSpanSizeLookup.getCachedSpanGroupIndex(this.getItemCount() - 1, this.mSpanCount);
 	}
 
 	public int getLastSpanGroupIndex(RecyclerView.State state) {
-		return this.mSpanSizeLookup.getSpanGroupIndex(state.getItemCount() - 1, this.mSpanCount);
+		return this.mSpanSizeLookup.getCachedSpanGroupIndex(state.getItemCount() - 1, this.mSpanCount);
 	}
 
 	public void setSpanCount(int spanCount) {
 		if (this.mSpanCount != spanCount) {
 			this.mSpanCount = spanCount;
+			this.invalidateSpanCaches();
 			this.requestLayout();
 		}
 	}
@@ -493,8 +722,57 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 		return this.mSpanCount;
 	}
 
+	/**
+	 * Lets a grid with a fixed height attach only the rows inside its viewport, plus
+	 * {@link #setExtraLayoutSpace(int)} on each side, recycle the rows that scroll out of it and
+	 * scroll vertically. A grid whose height wraps its content keeps laying out every item.
+	 */
+	public void setViewportLayoutEnabled(boolean viewportLayoutEnabled) {
+		if (this.mViewportLayoutEnabled != viewportLayoutEnabled) {
+			this.mViewportLayoutEnabled = viewportLayoutEnabled;
+			this.requestLayout();
+		}
+	}
+
+	public boolean isViewportLayoutEnabled() {
+		return this.mViewportLayoutEnabled;
+	}
+
+	/**
+	 * @param extraLayoutSpace pixels laid out beyond each edge of the viewport, so rows are ready
+	 *                         before they scroll in.
+	 */
+	public void setExtraLayoutSpace(int extraLayoutSpace) {
+		if (this.mExtraLayoutSpace != extraLayoutSpace) {
+			this.mExtraLayoutSpace = Math.max(0, extraLayoutSpace);
+			this.requestLayout();
+		}
+	}
+
+	public int getExtraLayoutSpace() {
+		return this.mExtraLayoutSpace;
+	}
+
+	/**
+	 * Trusts the size of a child that asked for a layout, typically after a rebind, as long as
+	 * it keeps its span size and width and its current size still satisfies the new specs.
+	 * Only enable it when neither the size nor the inner layout of a cell depends on the data
+	 * bound to it, a skipped child is not laid out again either.
+	 */
+	public void setMeasureSkipEnabled(boolean measureSkipEnabled) {
+		if (this.mMeasureSkipEnabled != measureSkipEnabled) {
+			this.mMeasureSkipEnabled = measureSkipEnabled;
+			this.requestLayout();
+		}
+	}
+
+	public boolean isMeasureSkipEnabled() {
+		return this.mMeasureSkipEnabled;
+	}
+
 	public void setSpanSizeLookup(SpanSizeLookup spanSizeLookup) {
 		this.mSpanSizeLookup = spanSizeLookup;
+		this.invalidateSpanCaches();
 	}
 
 	@NonNull
@@ -504,10 +782,20 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 
 	private static class LayoutState {
 
+		static final int LAYOUT_START = -1;
+
+		static final int LAYOUT_END = 1;
+
 		private int mLayoutOffset = 0;
 
 		private int mCurrentPosition = 0;
 
+		private int mLayoutDirection = LAYOUT_END;
+
+		private int mAnchorPosition = 0;
+
+		private int mAnchorOffset = 0;
+
 		public boolean hasMore(RecyclerView.State state) {
 			return this.mCurrentPosition >= 0 && this.mCurrentPosition < state.getItemCount();
 		}
@@ -519,22 +807,148 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 		public void resetInternal() {
 			this.mLayoutOffset = 0;
 			this.mCurrentPosition = 0;
+			this.mLayoutDirection = LAYOUT_END;
 		}
 	}
 
 	public static abstract class SpanSizeLookup {
 
+		final SparseIntArray mSpanIndexCache = new SparseIntArray();
+		final SparseIntArray mSpanGroupIndexCache = new SparseIntArray();
+
+		private boolean mCacheSpanIndices = false;
+		private boolean mCacheSpanGroupIndices = false;
+
 		public abstract int getSpanSize(int position);
 
+		/**
+		 * Sets whether the results of {@link #getSpanIndex(int, int)} method should be cached or
+		 * not. By default these values are not cached. If you are not overriding
+		 * {@link #getSpanIndex(int, int)} with something highly performant, you should set this
+		 * to true for better performance.
+		 */
+		public void setSpanIndexCacheEnabled(boolean cacheSpanIndices) {
+			if (!cacheSpanIndices) {
+				this.mSpanIndexCache.clear();
+			}
+			this.mCacheSpanIndices = cacheSpanIndices;
+		}
+
+		/**
+		 * Sets whether the results of {@link #getSpanGroupIndex(int, int)} method should be cached
+		 * or not. Together with {@link #setSpanIndexCacheEnabled(boolean)} a full layout pass
+		 * resumes every lookup from the previous position, which makes it linear in item count.
+		 */
+		public void setSpanGroupIndexCacheEnabled(boolean cacheSpanGroupIndices) {
+			if (!cacheSpanGroupIndices) {
+				this.mSpanGroupIndexCache.clear();
+			}
+			this.mCacheSpanGroupIndices = cacheSpanGroupIndices;
+		}
+
+		/**
+		 * Clears the span index cache. FixedGridLayoutManager automatically calls this method when
+		 * adapter changes occur.
+		 */
+		public void invalidateSpanIndexCache() {
+			this.mSpanIndexCache.clear();
+		}
+
+		/**
+		 * Clears the span group index cache. FixedGridLayoutManager automatically calls this method
+		 * when adapter changes occur.
+		 */
+		public void invalidateSpanGroupIndexCache() {
+			this.mSpanGroupIndexCache.clear();
+		}
+
+		public boolean isSpanIndexCacheEnabled() {
+			return this.mCacheSpanIndices;
+		}
+
+		public boolean isSpanGroupIndexCacheEnabled() {
+			return this.mCacheSpanGroupIndices;
+		}
+
+		int getCachedSpanIndex(int position, int spanCount) {
+			if (!this.mCacheSpanIndices) {
+				return this.getSpanIndex(position, spanCount);
+			}
+			final int existing = this.mSpanIndexCache.get(position, -1);
+			if (existing != -1) {
+				return existing;
+			}
+			final int value = this.getSpanIndex(position, spanCount);
+			this.mSpanIndexCache.put(position, value);
+			return value;
+		}
+
+		int getCachedSpanGroupIndex(int position, int spanCount) {
+			if (!this.mCacheSpanGroupIndices) {
+				return this.getSpanGroupIndex(position, spanCount);
+			}
+			final int existing = this.mSpanGroupIndexCache.get(position, -1);
+			if (existing != -1) {
+				return existing;
+			}
+			final int value = this.getSpanGroupIndex(position, spanCount);
+			this.mSpanGroupIndexCache.put(position, value);
+			return value;
+		}
+
+		/**
+		 * Returns the final span index of the provided position. Items are placed in order and an
+		 * item that does not fit into the remaining spans of a row starts the next one.
+		 */
 		public int getSpanIndex(int position, int spanCount) {
-			return position % spanCount;
+			final int positionSpanSize = this.getSpanSize(position);
+			if (positionSpanSize == spanCount) {
+				return 0;
+			}
+			int positionSpanCount = 0;
+			int startPosition = 0;
+			// resume from the closest cached position before this one
+			if (this.mCacheSpanIndices) {
+				final int prevKey = findFirstKeyLessThan(this.mSpanIndexCache, position);
+				if (prevKey >= 0) {
+					positionSpanCount = this.mSpanIndexCache.get(prevKey) + this.getSpanSize(prevKey);
+					startPosition = prevKey + 1;
+				}
+			}
+			for (; startPosition < position; startPosition++) {
+				final int spanSize = this.getSpanSize(startPosition);
+				positionSpanCount += spanSize;
+				if (positionSpanCount == spanCount) {
+					positionSpanCount = 0;
+				} else if (positionSpanCount > spanCount) {
+					positionSpanCount = spanSize;
+				}
+			}
+			if (positionSpanCount + positionSpanSize <= spanCount) {
+				return positionSpanCount;
+			}
+			return 0;
 		}
 
 		public int getSpanGroupIndex(int position, int spanCount) {
 			int positionGroupSize = 0;
 			int positionSpanCount = 0;
-			int positionSpanSize = this.getSpanSize(position);
-			for (int startPosition = 0; startPosition < position; startPosition++) {
+			int startPosition = 0;
+			// resume from the closest cached position before this one
+			if (this.mCacheSpanGroupIndices) {
+				final int prevKey = findFirstKeyLessThan(this.mSpanGroupIndexCache, position);
+				if (prevKey != -1) {
+					positionGroupSize = this.mSpanGroupIndexCache.get(prevKey);
+					positionSpanCount = this.getCachedSpanIndex(prevKey, spanCount) + this.getSpanSize(prevKey);
+					startPosition = prevKey + 1;
+					if (positionSpanCount == spanCount) {
+						positionSpanCount = 0;
+						positionGroupSize++;
+					}
+				}
+			}
+			final int positionSpanSize = this.getSpanSize(position);
+			for (; startPosition < position; startPosition++) {
 				final int spanSize = this.getSpanSize(startPosition);
 				positionSpanCount += spanSize;
 				if (positionSpanCount >= spanCount) {
@@ -551,6 +965,27 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 			}
 			return positionGroupSize;
 		}
+
+		static int findFirstKeyLessThan(SparseIntArray cache, int position) {
+			int lo = 0;
+			int hi = cache.size() - 1;
+			while (lo <= hi) {
+				// Using unsigned shift here to divide by two because it is guaranteed to not be
+				// negative.
+				final int mid = (lo + hi) >>> 1;
+				final int midVal = cache.keyAt(mid);
+				if (midVal < position) {
+					lo = mid + 1;
+				} else {
+					hi = mid - 1;
+				}
+			}
+			final int index = lo - 1;
+			if (index >= 0 && index < cache.size()) {
+				return cache.keyAt(index);
+			}
+			return -1;
+		}
 	}
 
 	public static class DefaultSpanSizeLookup extends SpanSizeLookup {
@@ -559,6 +994,16 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 		public int getSpanSize(int position) {
 			return 1;
 		}
+
+		@Override
+		public int getSpanIndex(int position, int spanCount) {
+			return position % spanCount;
+		}
+
+		@Override
+		public int getSpanGroupIndex(int position, int spanCount) {
+			return position / spanCount;
+		}
 	}
 
 	public static class LayoutParams extends RecyclerView.LayoutParams {
@@ -574,6 +1019,10 @@ public class FixedGridLayoutManager extends RecyclerView.LayoutManager {
 
 		private int mSpanGroupIndex = INVALID_SPAN_ID;
 
+		private int mMeasuredSpanSize = 0;
+
+		private int mMeasuredWidthSpec = 0;
+
 		public LayoutParams(int width, int height) {
 			super(width, height);
 		}
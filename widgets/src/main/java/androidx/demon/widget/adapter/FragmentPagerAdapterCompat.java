@@ -1,10 +1,19 @@
 package androidx.demon.widget.adapter;
 
+import android.os.Bundle;
+import android.os.Parcelable;
 import android.view.View;
 import android.view.ViewGroup;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import androidx.annotation.CallSuper;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.demon.widget.ViewPagerCompat;
 import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentManager;
@@ -17,10 +26,47 @@ import androidx.lifecycle.Lifecycle;
  */
 public abstract class FragmentPagerAdapterCompat extends ViewPagerCompat.Adapter {
 
+	private static final String STATE_SAVED_STATES = "androidx:switcher:saved_states";
+	private static final String STATE_RETAINED_TAGS = "androidx:switcher:retained_tags";
+
+	private static final int UNBOUNDED = -1;
+
 	private final FragmentManager mFragmentManager;
 	private FragmentTransaction mCurTransaction = null;
 	private Fragment mCurrentPrimaryFragment = null;
 
+	private int mMaxRetainedFragments = UNBOUNDED;
+	/**
+	 * Detached fragments by tag, least recently destroyed first.
+	 */
+	private final LinkedHashMap<String, Fragment> mRetainedFragments = new LinkedHashMap<>();
+	private final HashMap<String, Fragment.SavedState> mSavedStates = new HashMap<>();
+	private final ArrayList<Fragment> mPendingRemovals = new ArrayList<>();
+	private ArrayList<String> mRestoredRetainedTags;
+
+	private boolean mDeferredCommitEnabled = false;
+	private boolean mShouldCommitNow = false;
+	private boolean mInUpdate = false;
+	private int mScrollState = ViewPagerCompat.SCROLL_STATE_IDLE;
+	private FragmentTransaction mPrimaryTransaction = null;
+	/**
+	 * Fragments added or attached by the open {@link #mCurTransaction}, the added ones are not in
+	 * the FragmentManager before it is committed.
+	 */
+	private final ArrayList<Fragment> mPendingFragments = new ArrayList<>();
+
+	private final ViewPagerCompat.OnPageChangeListener mScrollStateListener = new ViewPagerCompat.SimpleOnPageChangeListener() {
+
+		@Override
+		public void onPageScrollStateChanged(int state) {
+			mScrollState = state;
+			if (state == ViewPagerCompat.SCROLL_STATE_IDLE && !mInUpdate) {
+				// the settle is over, commit what its populate passes collected
+				commitTransaction();
+			}
+		}
+	};
+
 	public FragmentPagerAdapterCompat(@NonNull FragmentManager fragmentManager) {
 		this.mFragmentManager = fragmentManager;
 	}
@@ -33,14 +79,29 @@ public abstract class FragmentPagerAdapterCompat extends ViewPagerCompat.Adapter
 		}
 
 		final String name = this.makeFragmentName(container.getId(), pagePosition);
-		Fragment fragment = this.mFragmentManager.findFragmentByTag(name);
+		Fragment fragment = this.findPendingFragment(name);
+		if (fragment == null) {
+			fragment = this.mFragmentManager.findFragmentByTag(name);
+		}
+		if (fragment != null && this.mPendingRemovals.contains(fragment)) {
+			// evicted in this very update, start over from its saved state
+			fragment = null;
+		}
 
 		if (fragment == null) {
 			fragment = this.onCreateFragment(container, position);
+			final Fragment.SavedState savedState = this.mSavedStates.remove(name);
+			if (savedState != null) {
+				fragment.setInitialSavedState(savedState);
+			}
 			this.mCurTransaction.add(container.getId(), fragment, name);
 		} else {
+			this.mRetainedFragments.remove(name);
 			this.mCurTransaction.attach(fragment);
 		}
+		if (!this.mPendingFragments.contains(fragment)) {
+			this.mPendingFragments.add(fragment);
+		}
 		if (this.mCurrentPrimaryFragment != fragment) {
 			fragment.setMenuVisibility(false);
 			this.mCurTransaction.setMaxLifecycle(fragment, Lifecycle.State.STARTED);
@@ -48,6 +109,21 @@ public abstract class FragmentPagerAdapterCompat extends ViewPagerCompat.Adapter
 		return fragment;
 	}
 
+	/**
+	 * @return the fragment added by the open transaction for the tag, which the FragmentManager
+	 * does not know before that is committed.
+	 */
+	@Nullable
+	private Fragment findPendingFragment(@NonNull String name) {
+		for (int index = this.mPendingFragments.size() - 1; index >= 0; index--) {
+			final Fragment fragment = this.mPendingFragments.get(index);
+			if (name.equals(fragment.getTag()) && !this.mPendingRemovals.contains(fragment)) {
+				return fragment;
+			}
+		}
+		return null;
+	}
+
 	@Override
 	public void onDestroyItem(@NonNull ViewGroup container, @NonNull Object object, int position) {
 		Fragment fragment = (Fragment) object;
@@ -58,6 +134,125 @@ public abstract class FragmentPagerAdapterCompat extends ViewPagerCompat.Adapter
 		if (fragment == this.mCurrentPrimaryFragment) {
 			this.mCurrentPrimaryFragment = null;
 		}
+		if (this.mMaxRetainedFragments != UNBOUNDED && fragment.getTag() != null) {
+			this.mRetainedFragments.remove(fragment.getTag());
+			this.mRetainedFragments.put(fragment.getTag(), fragment);
+			this.trimRetainedFragments(this.mMaxRetainedFragments);
+		}
+	}
+
+	/**
+	 * Bounds the number of detached fragments kept in the FragmentManager. A fragment that falls
+	 * off the least recently used end is removed, its {@link Fragment.SavedState} is kept and
+	 * handed to the new instance when its page comes back, like FragmentStatePagerAdapter.
+	 *
+	 * @param maxRetainedFragments 0 to remove every fragment as soon as its page is destroyed,
+	 *                             negative to retain every fragment, the default.
+	 */
+	public final void setMaxRetainedFragments(int maxRetainedFragments) {
+		// a lower bound takes effect with the next destroyed page
+		this.mMaxRetainedFragments = maxRetainedFragments < 0 ? UNBOUNDED : maxRetainedFragments;
+	}
+
+	public final int getMaxRetainedFragments() {
+		return this.mMaxRetainedFragments;
+	}
+
+	private void trimRetainedFragments(int maxSize) {
+		this.resolveRestoredRetainedFragments();
+		final Iterator<Map.Entry<String, Fragment>> iterator = this.mRetainedFragments.entrySet().iterator();
+		while (this.mRetainedFragments.size() > maxSize && iterator.hasNext()) {
+			final Map.Entry<String, Fragment> entry = iterator.next();
+			final Fragment fragment = entry.getValue();
+			iterator.remove();
+			if (fragment.getFragmentManager() != this.mFragmentManager
+					&& !this.mPendingFragments.contains(fragment)) {
+				// already gone
+				continue;
+			}
+			if (this.mCurTransaction == null) {
+				this.mCurTransaction = this.mFragmentManager.beginTransaction();
+			}
+			if (fragment.getFragmentManager() == this.mFragmentManager) {
+				// a fragment added by the open transaction has no state to save yet
+				final Fragment.SavedState savedState = this.mFragmentManager.saveFragmentInstanceState(fragment);
+				if (savedState != null) {
+					this.mSavedStates.put(entry.getKey(), savedState);
+				}
+			}
+			this.mCurTransaction.remove(fragment);
+			this.mPendingRemovals.add(fragment);
+		}
+	}
+
+	/**
+	 * After a restore the FragmentManager brings the retained fragments back by itself, pick
+	 * them up again so that they stay bounded.
+	 */
+	private void resolveRestoredRetainedFragments() {
+		if (this.mRestoredRetainedTags == null) {
+			return;
+		}
+		final ArrayList<String> restoredTags = this.mRestoredRetainedTags;
+		this.mRestoredRetainedTags = null;
+		final LinkedHashMap<String, Fragment> retainedFragments = new LinkedHashMap<>();
+		for (String tag : restoredTags) {
+			final Fragment fragment = this.mFragmentManager.findFragmentByTag(tag);
+			if (fragment != null && fragment.isDetached()) {
+				retainedFragments.put(tag, fragment);
+			}
+		}
+		// restored ones are older than anything destroyed since
+		retainedFragments.putAll(this.mRetainedFragments);
+		this.mRetainedFragments.clear();
+		this.mRetainedFragments.putAll(retainedFragments);
+	}
+
+	@CallSuper
+	@Override
+	public void onSaveInstanceState(@NonNull Bundle saveInstanceState) {
+		super.onSaveInstanceState(saveInstanceState);
+		if (!this.mInUpdate) {
+			// fragments of an open transaction would not be saved
+			this.commitTransaction();
+		}
+		if (this.mMaxRetainedFragments == UNBOUNDED) {
+			return;
+		}
+		this.resolveRestoredRetainedFragments();
+		final Bundle savedStates = new Bundle();
+		for (Map.Entry<String, Fragment.SavedState> entry : this.mSavedStates.entrySet()) {
+			savedStates.putParcelable(entry.getKey(), entry.getValue());
+		}
+		saveInstanceState.putBundle(STATE_SAVED_STATES, savedStates);
+		saveInstanceState.putStringArrayList(STATE_RETAINED_TAGS, new ArrayList<>(this.mRetainedFragments.keySet()));
+	}
+
+	@CallSuper
+	@Override
+	public void onRestoreInstanceState(@NonNull Bundle saveInstanceState, @NonNull ClassLoader classLoader) {
+		super.onRestoreInstanceState(saveInstanceState, classLoader);
+		final Bundle savedStates = saveInstanceState.getBundle(STATE_SAVED_STATES);
+		if (savedStates != null) {
+			savedStates.setClassLoader(classLoader);
+			this.mSavedStates.clear();
+			for (String key : savedStates.keySet()) {
+				final Parcelable savedState = savedStates.getParcelable(key);
+				if (savedState instanceof Fragment.SavedState) {
+					this.mSavedStates.put(key, (Fragment.SavedState) savedState);
+				}
+			}
+		}
+		this.mRestoredRetainedTags = saveInstanceState.getStringArrayList(STATE_RETAINED_TAGS);
+	}
+
+	/**
+	 * Fragment tags come from the page position and can't be changed once the fragment is added,
+	 * a shifted page would keep a tag of another position.
+	 */
+	@Override
+	public boolean canRebaseScrollingLoop() {
+		return false;
 	}
 
 	@Override
@@ -70,20 +265,75 @@ public abstract class FragmentPagerAdapterCompat extends ViewPagerCompat.Adapter
 		super.onPrimaryItem(container, object, position);
 		final Fragment fragment = (Fragment) object;
 		if (this.mCurrentPrimaryFragment != fragment) {
-			if (this.mCurTransaction == null) {
-				this.mCurTransaction = this.mFragmentManager.beginTransaction();
-			}
+			final FragmentTransaction transaction = this.getPrimaryTransaction(fragment);
 			if (this.mCurrentPrimaryFragment != null) {
 				this.mCurrentPrimaryFragment.setMenuVisibility(false);
-				this.mCurTransaction.setMaxLifecycle(this.mCurrentPrimaryFragment, Lifecycle.State.STARTED);
+				transaction.setMaxLifecycle(this.mCurrentPrimaryFragment, Lifecycle.State.STARTED);
 			}
 			fragment.setMenuVisibility(true);
-			this.mCurTransaction.setMaxLifecycle(fragment, Lifecycle.State.RESUMED);
-			this.mCurTransaction.setPrimaryNavigationFragment(fragment);
+			transaction.setMaxLifecycle(fragment, Lifecycle.State.RESUMED);
+			transaction.setPrimaryNavigationFragment(fragment);
 			this.mCurrentPrimaryFragment = fragment;
 		}
 	}
 
+	/**
+	 * While deferring, a primary fragment that is already in the FragmentManager is resumed by
+	 * a small transaction of its own, committed synchronously. One that is still pending in
+	 * {@link #mCurTransaction} forces that transaction to be committed synchronously instead.
+	 */
+	@NonNull
+	private FragmentTransaction getPrimaryTransaction(@NonNull Fragment fragment) {
+		if (!this.mDeferredCommitEnabled || this.mPendingFragments.contains(fragment)) {
+			this.mShouldCommitNow = true;
+			if (this.mCurTransaction == null) {
+				this.mCurTransaction = this.mFragmentManager.beginTransaction();
+			}
+			return this.mCurTransaction;
+		}
+		if (this.mPrimaryTransaction == null) {
+			this.mPrimaryTransaction = this.mFragmentManager.beginTransaction();
+		}
+		return this.mPrimaryTransaction;
+	}
+
+	/**
+	 * Keep the transaction of the pages that are not the primary one open while the pager
+	 * drags or settles, so that the populate passes of a fling share it, and commit it once
+	 * the scroll state returns to idle instead of once per populate. Only the primary fragment
+	 * is resumed synchronously.
+	 */
+	public final void setDeferredCommitEnabled(boolean enabled) {
+		this.mDeferredCommitEnabled = enabled;
+	}
+
+	public final boolean isDeferredCommitEnabled() {
+		return this.mDeferredCommitEnabled;
+	}
+
+	@CallSuper
+	@Override
+	public void onAttachedToWindow(@NonNull ViewGroup container) {
+		super.onAttachedToWindow(container);
+		if (container instanceof ViewPagerCompat) {
+			((ViewPagerCompat) container).addOnPageChangeListener(this.mScrollStateListener);
+		}
+	}
+
+	@CallSuper
+	@Override
+	public void onDetachedFromWindow(@NonNull ViewGroup container) {
+		super.onDetachedFromWindow(container);
+		if (container instanceof ViewPagerCompat) {
+			((ViewPagerCompat) container).removeOnPageChangeListener(this.mScrollStateListener);
+		}
+		// nobody tells us about idle anymore
+		this.mScrollState = ViewPagerCompat.SCROLL_STATE_IDLE;
+		if (!this.mInUpdate) {
+			this.commitTransaction();
+		}
+	}
+
 	@CallSuper
 	@Override
 	public void onStartUpdate(@NonNull ViewGroup container) {
@@ -91,19 +341,43 @@ public abstract class FragmentPagerAdapterCompat extends ViewPagerCompat.Adapter
 		if (container.getId() == View.NO_ID) {
 			throw new IllegalStateException("ViewPager with adapter " + this + " requires a view id");
 		}
+		this.mInUpdate = true;
 	}
 
 	@Override
 	public void onFinishUpdate(@NonNull ViewGroup container) {
 		super.onFinishUpdate(container);
+		this.mInUpdate = false;
+		if (!this.mDeferredCommitEnabled || this.mShouldCommitNow
+				|| this.mScrollState == ViewPagerCompat.SCROLL_STATE_IDLE) {
+			this.commitTransaction();
+		} else if (this.mPrimaryTransaction != null) {
+			// the primary fragment is already in the FragmentManager, the rest stays open
+			commitNow(this.mPrimaryTransaction);
+			this.mPrimaryTransaction = null;
+		}
+	}
+
+	private void commitTransaction() {
+		if (this.mPrimaryTransaction != null) {
+			commitNow(this.mPrimaryTransaction);
+			this.mPrimaryTransaction = null;
+		}
 		if (this.mCurTransaction != null) {
-			try {
-				this.mCurTransaction.commitNowAllowingStateLoss();
-			} catch (IllegalStateException e) {
-				this.mCurTransaction.commitAllowingStateLoss();
-			}
+			commitNow(this.mCurTransaction);
 			this.mCurTransaction = null;
 		}
+		this.mShouldCommitNow = false;
+		this.mPendingFragments.clear();
+		this.mPendingRemovals.clear();
+	}
+
+	private static void commitNow(@NonNull FragmentTransaction transaction) {
+		try {
+			transaction.commitNowAllowingStateLoss();
+		} catch (IllegalStateException e) {
+			transaction.commitAllowingStateLoss();
+		}
 	}
 
 	@NonNull
@@ -18,10 +18,13 @@ import androidx.demon.widget.cache.RecycledPool;
  */
 public abstract class PagerAdapterCompat<VH extends PagerAdapterCompat.ViewHolder> extends ViewPagerCompat.Adapter {
 
-	private final RecycledPool<VH> mRecycledPool = new RecycledPool<>();
+	private RecycledPool<VH> mRecycledPool = new RecycledPool<>();
+	private boolean mIsSharedRecycledPool = false;
 	private final SparseArray<VH> mViewHolderPool = new SparseArray<>();
 	private OnItemClickListener mOnItemClickListener;
 	private OnItemLongClickListener mOnItemLongClickListener;
+	private ViewHolderPrefetcher<VH> mViewHolderPrefetcher;
+	private ViewPagerCompat mAttachedContainer;
 
 	@CallSuper
 	@Override
@@ -30,6 +33,20 @@ public abstract class PagerAdapterCompat<VH extends PagerAdapterCompat.ViewHolde
 		final OnAdapterChangeListener mOnAdapterChangeListener = new OnAdapterChangeListener();
 		final ViewPagerCompat mViewPagerCompat = (ViewPagerCompat) container;
 		mViewPagerCompat.addOnAdapterChangeListener(mOnAdapterChangeListener);
+		this.mAttachedContainer = mViewPagerCompat;
+		if (this.mViewHolderPrefetcher != null) {
+			this.mViewHolderPrefetcher.schedule(mViewPagerCompat);
+		}
+	}
+
+	@CallSuper
+	@Override
+	public void onDetachedFromWindow(@NonNull ViewGroup container) {
+		super.onDetachedFromWindow(container);
+		this.mAttachedContainer = null;
+		if (this.mViewHolderPrefetcher != null) {
+			this.mViewHolderPrefetcher.cancel();
+		}
 	}
 
 	@NonNull
@@ -67,7 +84,36 @@ public abstract class PagerAdapterCompat<VH extends PagerAdapterCompat.ViewHolde
 		container.removeView(holder.getItemView());
 		this.onViewDetachedFromWindow(container, holder);
 		this.mRecycledPool.putRecycled(holder.getItemViewType(), holder);
-		this.mViewHolderPool.remove(position);
+		if (this.mViewHolderPool.get(position) == holder) {
+			this.mViewHolderPool.remove(position);
+		}
+	}
+
+	@Override
+	public final boolean onRebindItem(@NonNull ViewGroup container, @NonNull Object object, int position, @Nullable Object payload) {
+		final VH holder = (VH) object;
+		if (holder.getItemViewType() != this.getItemViewType(position)) {
+			// needs another layout, let the pager recreate it
+			return false;
+		}
+		try {
+			TraceCompat.beginSection("dispatchRebindViewHolder");
+			this.onBindViewHolder(holder, position, payload);
+		} finally {
+			TraceCompat.endSection();
+		}
+		return true;
+	}
+
+	@Override
+	public final void onItemPositionChanged(@NonNull ViewGroup container, @NonNull Object object, int oldPosition, int newPosition) {
+		final VH holder = (VH) object;
+		holder.position = newPosition;
+		// pages shift in any order, only drop the old key if nobody took it already
+		if (this.mViewHolderPool.get(oldPosition) == holder) {
+			this.mViewHolderPool.remove(oldPosition);
+		}
+		this.mViewHolderPool.put(newPosition, holder);
 	}
 
 	@Override
@@ -90,6 +136,11 @@ public abstract class PagerAdapterCompat<VH extends PagerAdapterCompat.ViewHolde
 	@NonNull
 	public abstract VH onCreateViewHolder(@NonNull LayoutInflater inflater, @NonNull ViewGroup container, int itemViewType);
 
+	/**
+	 * @param object null for a full bind, otherwise the payload of
+	 *               {@link ViewPagerCompat.Adapter#notifyItemChanged(int, Object)} and only the
+	 *               part of the holder it describes needs to be updated.
+	 */
 	public abstract void onBindViewHolder(@NonNull VH holder, int position, @Nullable Object object);
 
 	public int getItemViewType(int position) {
@@ -131,10 +182,64 @@ public abstract class PagerAdapterCompat<VH extends PagerAdapterCompat.ViewHolde
 		return this.mViewHolderPool.get(position);
 	}
 
+	@NonNull
+	final SparseArray<VH> getViewHolderPool() {
+		return this.mViewHolderPool;
+	}
+
+	/**
+	 * Opt-in: once the main thread is idle after {@link ViewPagerCompat#setAdapter}, inflate the
+	 * ViewHolders of the current and upcoming pages on a background thread and keep them in the
+	 * {@link #getRecycledPool()}, so the first swipe does not inflate on the UI thread.
+	 * <p>
+	 * While enabled {@link #onCreateViewHolder(LayoutInflater, ViewGroup, int)} may be called on a
+	 * background thread. If it throws there, it is retried on the UI thread.
+	 * <p>
+	 * Must be called on the main thread.
+	 */
+	public final void setPrefetchEnabled(boolean enabled) {
+		if (enabled == (this.mViewHolderPrefetcher != null)) {
+			return;
+		}
+		if (enabled) {
+			this.mViewHolderPrefetcher = new ViewHolderPrefetcher<>(this);
+			if (this.mAttachedContainer != null) {
+				this.mViewHolderPrefetcher.schedule(this.mAttachedContainer);
+			}
+		} else {
+			this.mViewHolderPrefetcher.cancel();
+			this.mViewHolderPrefetcher = null;
+		}
+	}
+
+	public final boolean isPrefetchEnabled() {
+		return this.mViewHolderPrefetcher != null;
+	}
+
 	public final RecycledPool<VH> getRecycledPool() {
 		return this.mRecycledPool;
 	}
 
+	/**
+	 * Share one pool of ViewHolders between several adapters, like
+	 * {@link androidx.recyclerview.widget.RecyclerView#setRecycledViewPool}. ViewHolders are
+	 * keyed by item view type, so all adapters using the pool must agree on their view types.
+	 * A shared pool is never cleared by the adapter, size it with
+	 * {@link RecycledPool#setMaxRecycledSize(int, int)}.
+	 *
+	 * @param recycledPool the shared pool, or null to go back to a private pool.
+	 */
+	public final void setRecycledPool(@Nullable RecycledPool<VH> recycledPool) {
+		if (this.mRecycledPool == recycledPool) {
+			return;
+		}
+		if (!this.mIsSharedRecycledPool) {
+			this.mRecycledPool.clear();
+		}
+		this.mIsSharedRecycledPool = recycledPool != null;
+		this.mRecycledPool = recycledPool != null ? recycledPool : new RecycledPool<VH>();
+	}
+
 	public void setOnItemClickListener(@NonNull OnItemClickListener listener) {
 		this.mOnItemClickListener = listener;
 	}
@@ -186,7 +291,7 @@ public abstract class PagerAdapterCompat<VH extends PagerAdapterCompat.ViewHolde
 		 */
 		@Override
 		public void onAdapterChanged(@NonNull ViewPagerCompat container, @Nullable ViewPagerCompat.Adapter oldAdapter, @Nullable ViewPagerCompat.Adapter newAdapter) {
-			if (oldAdapter != null) {
+			if (oldAdapter != null && !PagerAdapterCompat.this.mIsSharedRecycledPool) {
 				PagerAdapterCompat.this.mRecycledPool.clear();
 			}
 		}
@@ -0,0 +1,213 @@
+package androidx.demon.widget.adapter;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.Process;
+import android.util.Log;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.LayoutInflater;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.os.TraceCompat;
+import androidx.demon.widget.ViewPagerCompat;
+import androidx.demon.widget.cache.RecycledPool;
+
+/**
+ * Author create by ok on 2026-10-18
+ * Email : ok@163.com.
+ * <p>
+ * Inflates the ViewHolders the first pages of a {@link PagerAdapterCompat} will ask for on a
+ * background thread once the main thread goes idle, in the spirit of AsyncLayoutInflater, and
+ * hands them to the adapter's {@link androidx.demon.widget.cache.RecycledPool} so that
+ * {@link PagerAdapterCompat#onCreateItem} finds them warm.
+ */
+final class ViewHolderPrefetcher<VH extends PagerAdapterCompat.ViewHolder> implements MessageQueue.IdleHandler {
+
+	private static final String TAG = "ViewHolderPrefetcher";
+
+	/**
+	 * Pages beyond the offscreen limit on each side, the ones the first swipe will create.
+	 */
+	private static final int PREFETCH_EXTRA_PAGES = 1;
+
+	private static ExecutorService sExecutor;
+
+	@NonNull
+	private static synchronized Executor getExecutor() {
+		if (sExecutor == null) {
+			sExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+				@Override
+				public Thread newThread(@NonNull Runnable runnable) {
+					final Thread thread = new Thread(runnable, TAG);
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return sExecutor;
+	}
+
+	private final PagerAdapterCompat<VH> mAdapter;
+	private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+	private ViewPagerCompat mContainer;
+	private boolean mScheduled;
+	private int mGeneration;
+
+	ViewHolderPrefetcher(@NonNull PagerAdapterCompat<VH> adapter) {
+		this.mAdapter = adapter;
+	}
+
+	/**
+	 * Must be called on the main thread.
+	 */
+	void schedule(@NonNull ViewPagerCompat container) {
+		this.mContainer = container;
+		this.mGeneration++;
+		if (!this.mScheduled) {
+			this.mScheduled = true;
+			Looper.myQueue().addIdleHandler(this);
+		}
+	}
+
+	/**
+	 * Must be called on the main thread. Drops every pending inflation result.
+	 */
+	void cancel() {
+		this.mContainer = null;
+		this.mGeneration++;
+		if (this.mScheduled) {
+			this.mScheduled = false;
+			Looper.myQueue().removeIdleHandler(this);
+		}
+	}
+
+	@Override
+	public boolean queueIdle() {
+		this.mScheduled = false;
+		final ViewPagerCompat container = this.mContainer;
+		if (container == null || container.getAdapter() != this.mAdapter) {
+			return false;
+		}
+		final int itemCount = this.mAdapter.getItemCount();
+		if (itemCount <= 0) {
+			return false;
+		}
+		final SparseIntArray missingTypes = this.calculateMissingTypes(container, itemCount);
+		if (missingTypes.size() == 0) {
+			return false;
+		}
+		// LayoutInflater is not thread safe, give the background thread its own copy
+		final LayoutInflater inflater = LayoutInflater.from(container.getContext())
+				.cloneInContext(container.getContext());
+		final Executor executor = getExecutor();
+		for (int index = 0; index < missingTypes.size(); index++) {
+			final int itemViewType = missingTypes.keyAt(index);
+			for (int count = missingTypes.valueAt(index); count > 0; count--) {
+				executor.execute(new InflateRequest(inflater, container, itemViewType, this.mGeneration));
+			}
+		}
+		return false;
+	}
+
+	@NonNull
+	private SparseIntArray calculateMissingTypes(@NonNull ViewPagerCompat container, int itemCount) {
+		final SparseIntArray missingTypes = new SparseIntArray();
+		final int pageLimit = container.getOffscreenPageLimit() + PREFETCH_EXTRA_PAGES;
+		final int currentPosition = container.getCurrentItem();
+		final boolean scrollingLoop = container.isScrollingLoop();
+
+		for (int position = currentPosition - pageLimit; position <= currentPosition + pageLimit; position++) {
+			int adapterPosition = position;
+			if (scrollingLoop) {
+				adapterPosition = ((position % itemCount) + itemCount) % itemCount;
+			} else if (position < 0 || position >= itemCount) {
+				continue;
+			}
+			final int itemViewType = this.mAdapter.getItemViewType(adapterPosition);
+			missingTypes.put(itemViewType, missingTypes.get(itemViewType) + 1);
+		}
+
+		// pages that are already live and holders already waiting in the pool need nothing
+		final SparseArray<VH> viewHolderPool = this.mAdapter.getViewHolderPool();
+		for (int index = 0; index < viewHolderPool.size(); index++) {
+			final int itemViewType = viewHolderPool.valueAt(index).getItemViewType();
+			missingTypes.put(itemViewType, missingTypes.get(itemViewType) - 1);
+		}
+		for (int index = missingTypes.size() - 1; index >= 0; index--) {
+			final int itemViewType = missingTypes.keyAt(index);
+			final RecycledPool.Stats stats = this.mAdapter.getRecycledPool().getStats(itemViewType);
+			// putRecycled() drops anything beyond the max scrap size, never inflate more than fits
+			final int headroom = stats.getMaxScrapSize() - stats.getScrapSize();
+			final int missingCount = Math.min(missingTypes.valueAt(index) - stats.getScrapSize(), headroom);
+			if (missingCount > 0) {
+				missingTypes.put(itemViewType, missingCount);
+			} else {
+				missingTypes.removeAt(index);
+			}
+		}
+		return missingTypes;
+	}
+
+	void deliver(@Nullable VH holder, @NonNull LayoutInflater inflater, @NonNull ViewPagerCompat container,
+				 int itemViewType, int generation) {
+		if (generation != this.mGeneration || container != this.mContainer) {
+			return;
+		}
+		if (holder == null) {
+			// the layout could not be inflated off the main thread, we are idle anyway
+			holder = this.mAdapter.onCreateViewHolder(inflater, container, itemViewType);
+		}
+		if (holder.getItemView().getParent() == null) {
+			this.mAdapter.getRecycledPool().putRecycled(itemViewType, holder);
+		}
+	}
+
+	final class InflateRequest implements Runnable {
+
+		private final LayoutInflater mInflater;
+		private final ViewPagerCompat mContainer;
+		private final int mItemViewType;
+		private final int mGeneration;
+
+		InflateRequest(@NonNull LayoutInflater inflater, @NonNull ViewPagerCompat container, int itemViewType, int generation) {
+			this.mInflater = inflater;
+			this.mContainer = container;
+			this.mItemViewType = itemViewType;
+			this.mGeneration = generation;
+		}
+
+		@Override
+		public void run() {
+			Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+			VH holder = null;
+			try {
+				TraceCompat.beginSection("prefetchCreateViewHolder");
+				holder = mAdapter.onCreateViewHolder(this.mInflater, this.mContainer, this.mItemViewType);
+			} catch (RuntimeException e) {
+				// Probably a Looper failure, retry on the UI thread
+				Log.w(TAG, "Failed to inflate ViewHolder of type " + this.mItemViewType
+						+ " in the background! Retrying on the UI thread", e);
+			} finally {
+				TraceCompat.endSection();
+			}
+			final VH result = holder;
+			mHandler.post(new Runnable() {
+
+				@Override
+				public void run() {
+					deliver(result, mInflater, mContainer, mItemViewType, mGeneration);
+				}
+			});
+		}
+	}
+}
@@ -17,10 +17,34 @@ public class RecycledPool<T> {
 
 	private static final int DEFAULT_MAX_SCRAP = 5;
 
+	/**
+	 * Number of pool operations between two adaptive evaluations.
+	 */
+	private static final int ADAPTIVE_WINDOW = 32;
+
+	/**
+	 * Minimum number of gets of a type inside a window before its miss rate is trusted.
+	 */
+	private static final int ADAPTIVE_MIN_GETS = 4;
+
+	/**
+	 * Miss rate above which the scrap heap of a type grows by one.
+	 */
+	private static final float ADAPTIVE_GROW_MISS_RATE = 0.5F;
+
+	/**
+	 * Number of pool operations without touching a type after which its heap counts as idle.
+	 */
+	private static final int ADAPTIVE_IDLE_OPERATIONS = ADAPTIVE_WINDOW * 8;
+
 	private final SparseArray<ScrapData<T>> mScrap = new SparseArray<>();
 
 	private int maxScrapSize;
 
+	private boolean mAdaptiveEnabled;
+	private int mAdaptiveMaxScrap;
+	private long mOperationCount;
+
 	public RecycledPool() {
 		this(DEFAULT_MAX_SCRAP);
 	}
@@ -29,34 +53,64 @@ public class RecycledPool<T> {
 		this.maxScrapSize = maxScrapSize;
 	}
 
-	public void setMaxRecycledSize(int type, int size) {
+	public synchronized void setMaxRecycledSize(int type, int size) {
 		final ScrapData<T> scrapData = this.getScrapDataForType(type);
 		scrapData.mMaxScrap = size;
-		final ArrayList<T> scrapHeap = scrapData.mScrapHeap;
-		while (scrapHeap.size() > size) {
-			scrapHeap.remove(scrapHeap.size() - 1);
+		scrapData.mBaseMaxScrap = size;
+		this.trimScrapHeap(scrapData);
+	}
+
+	/**
+	 * Lets the pool size each type from its own usage: a type whose gets miss more often than
+	 * not grows its scrap heap by one per evaluation window, up to {@code maxScrapLimit}, and a
+	 * type that is not touched for a while shrinks back towards the size configured by
+	 * {@link #setMaxRecycledSize(int, int)} or the constructor.
+	 *
+	 * @param maxScrapLimit upper bound of the scrap heap of any type while adaptive.
+	 */
+	public synchronized void setAdaptiveEnabled(boolean enabled, int maxScrapLimit) {
+		this.mAdaptiveEnabled = enabled;
+		this.mAdaptiveMaxScrap = maxScrapLimit;
+		if (!enabled) {
+			for (int index = 0; index < this.mScrap.size(); index++) {
+				final ScrapData<T> scrapData = this.mScrap.valueAt(index);
+				scrapData.mMaxScrap = scrapData.mBaseMaxScrap;
+				this.trimScrapHeap(scrapData);
+			}
 		}
 	}
 
+	public synchronized boolean isAdaptiveEnabled() {
+		return this.mAdaptiveEnabled;
+	}
+
 	public synchronized void putRecycled(int type, @NonNull T data) {
 		final ScrapData<T> scrapData = this.getScrapDataForType(type);
 		final ArrayList<T> scrapHeap = scrapData.mScrapHeap;
+		this.onOperation(scrapData);
 		if (scrapData.mMaxScrap <= scrapHeap.size()) {
+			scrapData.mDroppedCount++;
 			return;
 		}
 		if (DEBUG && scrapHeap.contains(data)) {
 			throw new IllegalArgumentException("this scrap item already exists");
 		}
 		scrapHeap.add(data);
+		scrapData.mPeakSize = Math.max(scrapData.mPeakSize, scrapHeap.size());
 	}
 
 	@Nullable
 	public synchronized T getRecycled(int type) {
-		final ScrapData<T> scrapData = this.mScrap.get(type);
-		if (scrapData != null && !scrapData.mScrapHeap.isEmpty()) {
-			final ArrayList<T> scrapHeap = scrapData.mScrapHeap;
+		final ScrapData<T> scrapData = this.getScrapDataForType(type);
+		this.onOperation(scrapData);
+		final ArrayList<T> scrapHeap = scrapData.mScrapHeap;
+		if (!scrapHeap.isEmpty()) {
+			scrapData.mHitCount++;
+			scrapData.mWindowHitCount++;
 			return scrapHeap.remove(scrapHeap.size() - 1);
 		}
+		scrapData.mMissCount++;
+		scrapData.mWindowMissCount++;
 		return null;
 	}
 
@@ -67,12 +121,82 @@ public class RecycledPool<T> {
 		}
 	}
 
+	/**
+	 * @return a snapshot of the counters of the given type, all zero if the type was never used.
+	 */
+	@NonNull
+	public synchronized Stats getStats(int type) {
+		final ScrapData<T> scrapData = this.mScrap.get(type);
+		if (scrapData == null) {
+			return new Stats(type, 0, 0, 0, 0, 0, this.maxScrapSize);
+		}
+		return scrapData.snapshot(type);
+	}
+
+	/**
+	 * @return a snapshot of the counters of every type used so far, keyed by type.
+	 */
+	@NonNull
+	public synchronized SparseArray<Stats> getStatsSnapshot() {
+		final SparseArray<Stats> snapshot = new SparseArray<>(this.mScrap.size());
+		for (int index = 0; index < this.mScrap.size(); index++) {
+			final int type = this.mScrap.keyAt(index);
+			snapshot.put(type, this.mScrap.valueAt(index).snapshot(type));
+		}
+		return snapshot;
+	}
+
+	public synchronized void resetStats() {
+		for (int index = 0; index < this.mScrap.size(); index++) {
+			final ScrapData<T> scrapData = this.mScrap.valueAt(index);
+			scrapData.mHitCount = 0;
+			scrapData.mMissCount = 0;
+			scrapData.mDroppedCount = 0;
+			scrapData.mPeakSize = scrapData.mScrapHeap.size();
+		}
+	}
+
+	private void onOperation(@NonNull ScrapData<T> scrapData) {
+		scrapData.mLastOperation = ++this.mOperationCount;
+		if (this.mAdaptiveEnabled && this.mOperationCount % ADAPTIVE_WINDOW == 0) {
+			this.performAdaptive();
+		}
+	}
+
+	private void performAdaptive() {
+		for (int index = 0; index < this.mScrap.size(); index++) {
+			final ScrapData<T> scrapData = this.mScrap.valueAt(index);
+			final int windowGetCount = scrapData.mWindowHitCount + scrapData.mWindowMissCount;
+			if (windowGetCount >= ADAPTIVE_MIN_GETS
+					&& scrapData.mWindowMissCount > windowGetCount * ADAPTIVE_GROW_MISS_RATE) {
+				if (scrapData.mMaxScrap < this.mAdaptiveMaxScrap) {
+					scrapData.mMaxScrap++;
+				}
+			} else if (this.mOperationCount - scrapData.mLastOperation >= ADAPTIVE_IDLE_OPERATIONS) {
+				if (scrapData.mMaxScrap > scrapData.mBaseMaxScrap) {
+					scrapData.mMaxScrap--;
+					this.trimScrapHeap(scrapData);
+				}
+			}
+			scrapData.mWindowHitCount = 0;
+			scrapData.mWindowMissCount = 0;
+		}
+	}
+
+	private void trimScrapHeap(@NonNull ScrapData<T> scrapData) {
+		final ArrayList<T> scrapHeap = scrapData.mScrapHeap;
+		while (scrapHeap.size() > scrapData.mMaxScrap) {
+			scrapHeap.remove(scrapHeap.size() - 1);
+		}
+	}
+
 	@NonNull
 	private ScrapData<T> getScrapDataForType(int itemViewType) {
 		ScrapData<T> scrapData = this.mScrap.get(itemViewType);
 		if (scrapData == null) {
 			scrapData = new ScrapData<>();
 			scrapData.mMaxScrap = this.maxScrapSize;
+			scrapData.mBaseMaxScrap = this.maxScrapSize;
 			this.mScrap.put(itemViewType, scrapData);
 		}
 		return scrapData;
@@ -89,5 +213,101 @@ public class RecycledPool<T> {
 		private final ArrayList<Data> mScrapHeap = new ArrayList<>();
 
 		private int mMaxScrap = DEFAULT_MAX_SCRAP;
+
+		private int mBaseMaxScrap = DEFAULT_MAX_SCRAP;
+
+		private long mHitCount;
+
+		private long mMissCount;
+
+		private long mDroppedCount;
+
+		private int mPeakSize;
+
+		private int mWindowHitCount;
+
+		private int mWindowMissCount;
+
+		private long mLastOperation;
+
+		@NonNull
+		Stats snapshot(int type) {
+			return new Stats(type, this.mHitCount, this.mMissCount, this.mDroppedCount,
+					this.mPeakSize, this.mScrapHeap.size(), this.mMaxScrap);
+		}
+	}
+
+	public static final class Stats {
+
+		private final int type;
+		private final long hitCount;
+		private final long missCount;
+		private final long droppedCount;
+		private final int peakSize;
+		private final int scrapSize;
+		private final int maxScrapSize;
+
+		Stats(int type, long hitCount, long missCount, long droppedCount, int peakSize, int scrapSize, int maxScrapSize) {
+			this.type = type;
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.droppedCount = droppedCount;
+			this.peakSize = peakSize;
+			this.scrapSize = scrapSize;
+			this.maxScrapSize = maxScrapSize;
+		}
+
+		public int getType() {
+			return this.type;
+		}
+
+		/**
+		 * @return number of {@link RecycledPool#getRecycled(int)} calls that returned a recycled item.
+		 */
+		public long getHitCount() {
+			return this.hitCount;
+		}
+
+		/**
+		 * @return number of {@link RecycledPool#getRecycled(int)} calls that returned null and forced a create.
+		 */
+		public long getMissCount() {
+			return this.missCount;
+		}
+
+		/**
+		 * @return number of {@link RecycledPool#putRecycled(int, Object)} calls dropped because the heap was full.
+		 */
+		public long getDroppedCount() {
+			return this.droppedCount;
+		}
+
+		public int getPeakSize() {
+			return this.peakSize;
+		}
+
+		public int getScrapSize() {
+			return this.scrapSize;
+		}
+
+		public int getMaxScrapSize() {
+			return this.maxScrapSize;
+		}
+
+		public float getMissRate() {
+			final long getCount = this.hitCount + this.missCount;
+			return getCount > 0 ? (float) this.missCount / getCount : 0.F;
+		}
+
+		@NonNull
+		@Override
+		public String toString() {
+			return "Type : " + this.type
+					+ " Hit : " + this.hitCount
+					+ " Miss : " + this.missCount
+					+ " Dropped : " + this.droppedCount
+					+ " Peak : " + this.peakSize
+					+ " Size : " + this.scrapSize + "/" + this.maxScrapSize;
+		}
 	}
 }
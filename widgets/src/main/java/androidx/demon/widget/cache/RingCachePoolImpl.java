@@ -0,0 +1,136 @@
+package androidx.demon.widget.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Author create by ok on 2026-10-18
+ * Email : ok@163.com.
+ * <p>
+ * Lock-free {@link CachePool} backed by a preallocated ring of {@code maxPoolSize} slots.
+ * Every slot carries a sequence number, so producers and consumers claim slots with a single
+ * CAS on the tail or head cursor and {@link #obtain(Object, int)} / {@link #recycle(Object)}
+ * never allocate or block.
+ */
+public abstract class RingCachePoolImpl<Result, Target> implements CachePool<Result, Target> {
+
+	private static final int DEFAULT_MAX_POOL_SIZE = 5;
+
+	private final AtomicReferenceArray<Result> mBuffer;
+	private final AtomicLongArray mSequences;
+	private final AtomicLong mHead = new AtomicLong();
+	private final AtomicLong mTail = new AtomicLong();
+	private final int mPoolSize;
+
+	public RingCachePoolImpl() {
+		this(DEFAULT_MAX_POOL_SIZE);
+	}
+
+	public RingCachePoolImpl(int maxPoolSize) {
+		if (maxPoolSize <= 0) {
+			throw new IllegalArgumentException("maxPoolSize must be > 0, but was " + maxPoolSize);
+		}
+		this.mPoolSize = maxPoolSize;
+		this.mBuffer = new AtomicReferenceArray<>(maxPoolSize);
+		this.mSequences = new AtomicLongArray(maxPoolSize);
+		for (int index = 0; index < maxPoolSize; index++) {
+			this.mSequences.set(index, index);
+		}
+	}
+
+	public int getPoolSize() {
+		return this.mPoolSize;
+	}
+
+	/**
+	 * @return number of cached results, only a snapshot while other threads use the pool
+	 */
+	public int getCachedSize() {
+		final long size = this.mTail.get() - this.mHead.get();
+		return (int) Math.max(0, Math.min(size, this.mPoolSize));
+	}
+
+	@Override
+	public void prepare(Target target, int position) {
+		while (this.getCachedSize() < this.mPoolSize) {
+			if (!this.offer(this.create(target, position))) {
+				break;
+			}
+		}
+	}
+
+	@Override
+	public Result obtain(Target target, int position) {
+		final Result result = this.poll();
+		if (result != null) {
+			return result;
+		}
+		return this.create(target, position);
+	}
+
+	@Override
+	public void recycle(Result result) {
+		if (result != null) {
+			this.offer(result);
+		}
+	}
+
+	@Override
+	public void clear() {
+		while (this.poll() != null) {
+			// NO-OP
+		}
+	}
+
+	private boolean offer(Result result) {
+		final int poolSize = this.mPoolSize;
+		long tail = this.mTail.get();
+		int index;
+		while (true) {
+			index = (int) (tail % poolSize);
+			final long delta = this.mSequences.get(index) - tail;
+			if (delta == 0) {
+				if (this.mTail.compareAndSet(tail, tail + 1)) {
+					break;
+				}
+				tail = this.mTail.get();
+			} else if (delta < 0) {
+				// full, drop the result
+				return false;
+			} else {
+				// another producer claimed this slot, retry with the new tail
+				tail = this.mTail.get();
+			}
+		}
+		this.mBuffer.lazySet(index, result);
+		this.mSequences.set(index, tail + 1);
+		return true;
+	}
+
+	private Result poll() {
+		final int poolSize = this.mPoolSize;
+		long head = this.mHead.get();
+		int index;
+		while (true) {
+			index = (int) (head % poolSize);
+			final long delta = this.mSequences.get(index) - (head + 1);
+			if (delta == 0) {
+				if (this.mHead.compareAndSet(head, head + 1)) {
+					break;
+				}
+				head = this.mHead.get();
+			} else if (delta < 0) {
+				// empty
+				return null;
+			} else {
+				// another consumer claimed this slot, retry with the new head
+				head = this.mHead.get();
+			}
+		}
+		final Result result = this.mBuffer.get(index);
+		this.mBuffer.lazySet(index, null);
+		this.mSequences.set(index, head + poolSize);
+		return result;
+	}
+}